@@ -0,0 +1,146 @@
+package com.rmoraes.minhasfinancas.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
+import com.rmoraes.minhasfinancas.model.repository.UsuarioRepository;
+import com.rmoraes.minhasfinancas.service.LancamentoService;
+import com.rmoraes.minhasfinancas.utils.TestUtils;
+
+/**
+ * Várias threads alterando o mesmo lançamento. Na primeira fase cada operação lê, soma um centavo
+ * ao valor e grava com a versão lida, repetindo em caso de conflito: o valor e a versão finais
+ * provam que nenhuma escrita se perdeu. Na segunda, metade das threads continua somando ao valor
+ * enquanto a outra metade troca o status pela repetição automática de
+ * {@link LancamentoService#atualizarStatus(Long, StatusLancamento)}, que não pode desfazer nenhuma soma.
+ * Não faz parte da suíte padrão: execute com
+ * {@code mvn -Pbenchmark test -DskipTests=false -Dtest=AtualizacaoConcorrenteBenchmark -Dthreads=16 -Doperacoes=500}.
+ */
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@SpringBootTest
+public class AtualizacaoConcorrenteBenchmark {
+
+	private static final int THREADS = Integer.getInteger("threads", 8);
+	private static final int OPERACOES = Integer.getInteger("operacoes", 200);
+
+	@Autowired
+	private LancamentoService service;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Test
+	public void naoDevePerderAtualizacoesConcorrentes() throws Exception {
+		final Usuario usuario = usuarioRepository.save(ContextoBenchmark.criarUsuario());
+		final Lancamento lancamento = TestUtils.criarLancamento();
+		lancamento.setUsuario(usuario);
+		final Long id = service.salvar(lancamento).getId();
+		final Lancamento inicial = service.obterPorId(id);
+		final int total = THREADS * OPERACOES;
+
+		final AtomicInteger conflitos = new AtomicInteger();
+		long inicio = System.nanoTime();
+		executarEmParalelo(thread -> somarCentavos(id, conflitos));
+		final double valorPorSegundo = total / ((System.nanoTime() - inicio) / 1e9);
+		final int conflitosValor = conflitos.get();
+
+		final Lancamento aposValor = service.obterPorId(id);
+		assertThat(aposValor.getValor()).isEqualTo(inicial.getValor().somar(Dinheiro.deCentavos(total)));
+		assertThat(aposValor.getVersao()).isEqualTo(inicial.getVersao() + total);
+		assertThat(service.obterSaldoPorUsuario(usuario.getId())).isEqualTo(aposValor.getValor());
+
+		final int threadsStatus = THREADS / 2;
+		final int somas = (THREADS - threadsStatus) * OPERACOES;
+		final AtomicInteger desistencias = new AtomicInteger();
+		conflitos.set(0);
+		inicio = System.nanoTime();
+		executarEmParalelo(thread -> {
+			if(thread < threadsStatus) {
+				trocarStatus(id, desistencias);
+			} else {
+				somarCentavos(id, conflitos);
+			}
+		});
+		final double mistoPorSegundo = total / ((System.nanoTime() - inicio) / 1e9);
+
+		final Lancamento aposMisto = service.obterPorId(id);
+		assertThat(aposMisto.getValor()).isEqualTo(aposValor.getValor().somar(Dinheiro.deCentavos(somas)));
+		assertThat(aposMisto.getVersao()).isGreaterThanOrEqualTo(aposValor.getVersao() + somas);
+		assertThat(service.obterSaldoPorUsuario(usuario.getId())).isEqualTo(aposMisto.getValor());
+
+		System.out.printf("%d threads x %d operações%n", THREADS, OPERACOES);
+		System.out.printf("ler-alterar-gravar: %.0f op/s, %d conflitos (%.2f por operação)%n",
+				valorPorSegundo, conflitosValor, conflitosValor / (double) total);
+		System.out.printf("misto (status com repetição + somas): %.0f op/s, %d conflitos nas somas, %d de %d trocas de status desistiram%n",
+				mistoPorSegundo, conflitos.get(), desistencias.get(), threadsStatus * OPERACOES);
+	}
+
+	private void somarCentavos(final Long id, final AtomicInteger conflitos) {
+		for (int i = 0; i < OPERACOES; i++) {
+			while (true) {
+				final Lancamento lido = service.obterPorId(id);
+				lido.setValor(lido.getValor().somar(Dinheiro.deCentavos(1)));
+				try {
+					service.atualizar(lido);
+					break;
+				} catch (OptimisticLockingFailureException e) {
+					conflitos.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	private void trocarStatus(final Long id, final AtomicInteger desistencias) {
+		for (int i = 0; i < OPERACOES; i++) {
+			try {
+				service.atualizarStatus(id, i % 2 == 0 ? StatusLancamento.EFETIVADO : StatusLancamento.CANCELADO);
+			} catch (OptimisticLockingFailureException e) {
+				desistencias.incrementAndGet();
+			}
+		}
+	}
+
+	private void executarEmParalelo(final IntConsumer tarefa) throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			final CountDownLatch largada = new CountDownLatch(1);
+			final List<Future<?>> resultados = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				final int thread = i;
+				resultados.add(executor.submit(() -> {
+					largada.await();
+					tarefa.accept(thread);
+					return null;
+				}));
+			}
+			largada.countDown();
+			for (Future<?> resultado : resultados) {
+				resultado.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
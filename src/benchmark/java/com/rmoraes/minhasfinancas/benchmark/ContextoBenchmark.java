@@ -0,0 +1,77 @@
+package com.rmoraes.minhasfinancas.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.rmoraes.minhasfinancas.MinhasfinancasApplication;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
+import com.rmoraes.minhasfinancas.model.enums.TipoLancamento;
+import com.rmoraes.minhasfinancas.service.LancamentoService;
+
+/**
+ * Sobe a aplicação com o perfil {@code test} (H2 em memória), sem servidor web,
+ * e popula a massa de lançamentos usada pelos benchmarks.
+ */
+final class ContextoBenchmark {
+	
+	static final int ANO_INICIAL = 2015;
+	static final int ANOS = 5;
+	
+	private static final int TAMANHO_LOTE = 10_000;
+	
+	private ContextoBenchmark() {
+	}
+	
+	static ConfigurableApplicationContext iniciar(final String... argumentos) {
+		return new SpringApplicationBuilder(MinhasfinancasApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("test")
+				.properties("spring.devtools.restart.enabled=false",
+							"spring.jpa.show-sql=false",
+							"logging.level.root=WARN")
+				.run(argumentos);
+	}
+	
+	/**
+	 * Usuário com email único: os benchmarks do JUnit compartilham o mesmo contexto e o mesmo banco.
+	 */
+	static Usuario criarUsuario() {
+		return Usuario.builder()
+					  .nome("benchmark")
+					  .email("benchmark-" + UUID.randomUUID() + "@email.com")
+					  .senha("senha")
+					  .build();
+	}
+	
+	static void popular(final LancamentoService service, final Usuario usuario, final int linhas) {
+		for (int inicio = 0; inicio < linhas; inicio += TAMANHO_LOTE) {
+			final int fim = Math.min(inicio + TAMANHO_LOTE, linhas);
+			final List<Lancamento> lote = new ArrayList<>(fim - inicio);
+			for (int i = inicio; i < fim; i++) {
+				lote.add(criarLancamento(usuario, i));
+			}
+			service.salvarEmLote(lote);
+		}
+	}
+	
+	static Lancamento criarLancamento(final Usuario usuario, final int i) {
+		return Lancamento.builder()
+						 .descricao("Lançamento " + i)
+						 .mes(i % 12 + 1)
+						 .ano(ANO_INICIAL + (i / 12) % ANOS)
+						 .valor(Dinheiro.deCentavos(i % 1000 + 1))
+						 .tipo(i % 3 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+						 .status(StatusLancamento.PENDENTE)
+						 .usuario(usuario)
+						 .build();
+	}
+
+}
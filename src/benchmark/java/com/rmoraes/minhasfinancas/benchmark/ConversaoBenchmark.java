@@ -0,0 +1,67 @@
+package com.rmoraes.minhasfinancas.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rmoraes.minhasfinancas.api.dto.LancamentoDTO;
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversaoBenchmark {
+	
+	private ObjectMapper objectMapper;
+	private Lancamento lancamento;
+	private LancamentoDTO dto;
+	
+	@Setup
+	public void iniciar() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		final Usuario usuario = Usuario.builder()
+									   .id(1l)
+									   .nome("benchmark")
+									   .email("benchmark@email.com")
+									   .senha("senha")
+									   .dataCadastro(LocalDate.now())
+									   .build();
+		lancamento = ContextoBenchmark.criarLancamento(usuario, 42);
+		lancamento.setId(1l);
+		lancamento.setDataCadastro(LocalDate.now());
+		dto = LancamentoDTO.de(lancamento);
+	}
+	
+	@Benchmark
+	public LancamentoDTO converterParaDTO() {
+		return LancamentoDTO.de(lancamento);
+	}
+	
+	@Benchmark
+	public byte[] serializarLancamento() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(lancamento);
+	}
+	
+	@Benchmark
+	public byte[] serializarDTO() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(dto);
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.rmoraes.minhasfinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+
+/**
+ * Soma de receitas e despesas como no saldo acumulado do resumo: {@link BigDecimal}, {@link Dinheiro}
+ * imutável e centavos em {@code long}. Rodar com {@code -prof gc} para comparar a alocação por operação.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DinheiroBenchmark {
+
+	@Param("1000")
+	private int linhas;
+
+	private BigDecimal[] decimais;
+	private Dinheiro[] valores;
+	private boolean[] receitas;
+
+	@Setup
+	public void iniciar() {
+		decimais = new BigDecimal[linhas];
+		valores = new Dinheiro[linhas];
+		receitas = new boolean[linhas];
+		for (int i = 0; i < linhas; i++) {
+			decimais[i] = BigDecimal.valueOf(i * 7919L % 1_000_000 + 1, Dinheiro.CASAS_DECIMAIS);
+			valores[i] = Dinheiro.de(decimais[i]);
+			receitas[i] = i % 3 == 0;
+		}
+	}
+
+	@Benchmark
+	public BigDecimal somarBigDecimal() {
+		BigDecimal saldo = BigDecimal.ZERO;
+		for (int i = 0; i < linhas; i++) {
+			saldo = receitas[i] ? saldo.add(decimais[i]) : saldo.subtract(decimais[i]);
+		}
+		return saldo;
+	}
+
+	@Benchmark
+	public Dinheiro somarDinheiro() {
+		Dinheiro saldo = Dinheiro.ZERO;
+		for (int i = 0; i < linhas; i++) {
+			saldo = receitas[i] ? saldo.somar(valores[i]) : saldo.subtrair(valores[i]);
+		}
+		return saldo;
+	}
+
+	@Benchmark
+	public Dinheiro somarCentavos() {
+		long centavos = 0L;
+		for (int i = 0; i < linhas; i++) {
+			centavos = receitas[i]
+					? Dinheiro.somarCentavos(centavos, valores[i].getCentavos())
+					: Dinheiro.subtrairCentavos(centavos, valores[i].getCentavos());
+		}
+		return Dinheiro.deCentavos(centavos);
+	}
+
+}
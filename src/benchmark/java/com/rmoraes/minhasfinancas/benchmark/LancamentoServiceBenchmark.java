@@ -0,0 +1,82 @@
+package com.rmoraes.minhasfinancas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.rmoraes.minhasfinancas.api.dto.FiltroLancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.PaginaDTO;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.service.LancamentoService;
+import com.rmoraes.minhasfinancas.service.UsuarioService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class LancamentoServiceBenchmark {
+	
+	@Param({"1000", "100000", "1000000"})
+	private int linhas;
+	
+	private ConfigurableApplicationContext contexto;
+	private LancamentoService service;
+	private Usuario usuario;
+	private FiltroLancamentoDTO filtroPorAno;
+	private FiltroLancamentoDTO filtroPorDescricao;
+	private int sequencia;
+	
+	@Setup(Level.Trial)
+	public void iniciar() {
+		contexto = ContextoBenchmark.iniciar();
+		service = contexto.getBean(LancamentoService.class);
+		usuario = contexto.getBean(UsuarioService.class)
+						  .salvar(Usuario.builder().nome("benchmark").email("benchmark@email.com").senha("senha").build());
+		ContextoBenchmark.popular(service, usuario, linhas);
+		filtroPorAno = FiltroLancamentoDTO.builder().usuario(usuario.getId()).ano(ContextoBenchmark.ANO_INICIAL).build();
+		filtroPorDescricao = FiltroLancamentoDTO.builder().usuario(usuario.getId()).descricao("nto 99").build();
+	}
+	
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+	
+	@Benchmark
+	public Lancamento salvar() {
+		return service.salvar(ContextoBenchmark.criarLancamento(usuario, sequencia++));
+	}
+	
+	@Benchmark
+	public PaginaDTO<Lancamento> buscarPorAno() {
+		return service.buscar(filtroPorAno, null, null);
+	}
+	
+	@Benchmark
+	public PaginaDTO<Lancamento> buscarPorDescricao() {
+		return service.buscar(filtroPorDescricao, null, null);
+	}
+	
+	@Benchmark
+	public Dinheiro obterSaldoPorUsuario() {
+		return service.obterSaldoPorUsuario(usuario.getId());
+	}
+
+}
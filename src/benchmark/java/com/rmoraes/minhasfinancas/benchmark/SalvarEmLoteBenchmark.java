@@ -0,0 +1,70 @@
+package com.rmoraes.minhasfinancas.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.rmoraes.minhasfinancas.api.dto.ResultadoLoteDTO;
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.model.repository.UsuarioRepository;
+import com.rmoraes.minhasfinancas.service.LancamentoService;
+import com.rmoraes.minhasfinancas.utils.TestUtils;
+
+/**
+ * Compara a vazão (linhas/s) de {@link LancamentoService#salvar(Lancamento)} com
+ * {@link LancamentoService#salvarEmLote(List)}. Não faz parte da suíte padrão:
+ * execute com {@code mvn -Pbenchmark test -DskipTests=false -Dtest=SalvarEmLoteBenchmark -Dlinhas=20000}.
+ */
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@SpringBootTest
+public class SalvarEmLoteBenchmark {
+	
+	private static final int LINHAS = Integer.getInteger("linhas", 5000);
+	
+	@Autowired
+	private LancamentoService service;
+	
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+	
+	@Test
+	public void compararInsercaoUnitariaComLote() {
+		final Usuario usuario = usuarioRepository.save(ContextoBenchmark.criarUsuario());
+		
+		long inicio = System.nanoTime();
+		for (Lancamento lancamento : criarLancamentos(usuario)) {
+			service.salvar(lancamento);
+		}
+		final double unitario = LINHAS / ((System.nanoTime() - inicio) / 1e9);
+		
+		final List<Lancamento> lote = criarLancamentos(usuario);
+		inicio = System.nanoTime();
+		final ResultadoLoteDTO resultado = service.salvarEmLote(lote);
+		final double emLote = LINHAS / ((System.nanoTime() - inicio) / 1e9);
+		
+		System.out.printf("salvar: %.0f linhas/s | salvarEmLote: %.0f linhas/s (%.1fx)%n", unitario, emLote, emLote / unitario);
+		assertThat(resultado.getSalvos()).isEqualTo(LINHAS);
+	}
+	
+	private List<Lancamento> criarLancamentos(final Usuario usuario) {
+		final List<Lancamento> lancamentos = new ArrayList<>(LINHAS);
+		for (int i = 0; i < LINHAS; i++) {
+			final Lancamento lancamento = TestUtils.criarLancamento();
+			lancamento.setUsuario(usuario);
+			lancamento.setMes(i % 12 + 1);
+			lancamentos.add(lancamento);
+		}
+		return lancamentos;
+	}
+
+}
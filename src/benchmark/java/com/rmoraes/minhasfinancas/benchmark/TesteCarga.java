@@ -0,0 +1,190 @@
+package com.rmoraes.minhasfinancas.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.rmoraes.minhasfinancas.MinhasfinancasApplication;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.service.LancamentoService;
+import com.rmoraes.minhasfinancas.service.TokenService;
+import com.rmoraes.minhasfinancas.service.UsuarioService;
+
+/**
+ * Teste de carga HTTP: sobe a aplicação (perfil {@code test}) numa porta livre e dispara
+ * {@code clientes} conexões simultâneas, cada uma alternando entre a busca de lançamentos e o
+ * saldo do usuário, sem pausa entre as chamadas. Imprime vazão, percentis de latência e erros.
+ * <p>
+ * Parâmetros no formato {@code chave=valor}: {@code modo} ({@code plataforma} ou {@code virtual}),
+ * {@code clientes}, {@code duracao} e {@code aquecimento} (segundos), {@code linhas} e
+ * {@code latencia-banco-ms}, que atrasa cada comando JDBC para simular um banco lento.
+ * Argumentos iniciados por {@code --} vão para a aplicação.
+ */
+public final class TesteCarga {
+	
+	private TesteCarga() {
+	}
+	
+	public static void main(final String[] args) throws Exception {
+		final Map<String, String> parametros = new HashMap<>();
+		final List<String> argumentosAplicacao = new ArrayList<>();
+		for (String argumento : args) {
+			if(argumento.startsWith("--")) {
+				argumentosAplicacao.add(argumento);
+			} else if(argumento.contains("=")) {
+				parametros.put(argumento.substring(0, argumento.indexOf('=')), argumento.substring(argumento.indexOf('=') + 1));
+			}
+		}
+		final String modo = parametros.getOrDefault("modo", "plataforma");
+		final int clientes = Integer.parseInt(parametros.getOrDefault("clientes", "1000"));
+		final int duracao = Integer.parseInt(parametros.getOrDefault("duracao", "30"));
+		final int aquecimento = Integer.parseInt(parametros.getOrDefault("aquecimento", "10"));
+		final int linhas = Integer.parseInt(parametros.getOrDefault("linhas", "10000"));
+		final long latenciaBancoMs = Long.parseLong(parametros.getOrDefault("latencia-banco-ms", "0"));
+		
+		System.setProperty("http.maxConnections", String.valueOf(clientes));
+		// o devtools lê o flag antes das propriedades do builder e reiniciaria a aplicação com os mesmos argumentos
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		argumentosAplicacao.add("--minhasfinancas.execucao.threads-virtuais=" + "virtual".equals(modo));
+		argumentosAplicacao.add("--server.port=0");
+		
+		final ConfigurableApplicationContext contexto = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+				.profiles("test")
+				.properties("spring.jpa.show-sql=false",
+							"logging.level.root=WARN")
+				.initializers(aplicacao -> aplicacao.getBeanFactory().addBeanPostProcessor(new LatenciaBanco(latenciaBancoMs)))
+				.run(argumentosAplicacao.toArray(new String[0]));
+		try {
+			final Usuario usuario = contexto.getBean(UsuarioService.class)
+					.salvar(Usuario.builder().nome("carga").email("carga@email.com").senha("senha").build());
+			ContextoBenchmark.popular(contexto.getBean(LancamentoService.class), usuario, linhas);
+			final String autorizacao = "Bearer " + contexto.getBean(TokenService.class).gerar(usuario);
+			
+			final String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+			final String[] urls = {
+				base + "/api/lancamentos?usuario=" + usuario.getId() + "&ano=" + ContextoBenchmark.ANO_INICIAL + "&tamanho=20",
+				base + "/api/usuarios/" + usuario.getId() + "/saldo"
+			};
+			
+			final Histogram latencias = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+			final LongAdder erros = new LongAdder();
+			final long inicioMedicao = System.nanoTime() + TimeUnit.SECONDS.toNanos(aquecimento);
+			final long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(duracao);
+			final CountDownLatch terminados = new CountDownLatch(clientes);
+			
+			for (int c = 0; c < clientes; c++) {
+				final int cliente = c;
+				final Thread thread = new Thread(() -> {
+					try {
+						int i = cliente;
+						long agora;
+						while ((agora = System.nanoTime()) < fim) {
+							final boolean sucesso = chamar(urls[i++ % urls.length], autorizacao);
+							final long depois = System.nanoTime();
+							if(agora >= inicioMedicao) {
+								latencias.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(depois - agora), latencias.getHighestTrackableValue()));
+								if(!sucesso) {
+									erros.increment();
+								}
+							}
+						}
+					} finally {
+						terminados.countDown();
+					}
+				}, "cliente-" + c);
+				thread.setDaemon(true);
+				thread.start();
+			}
+			terminados.await();
+			
+			System.out.printf("%nmodo=%s threads-virtuais=%s jdk=%s clientes=%d duracao=%ds latencia-banco=%dms%n",
+					modo, contexto.getEnvironment().getProperty("spring.threads.virtual.enabled"), System.getProperty("java.version"), clientes, duracao, latenciaBancoMs);
+			System.out.printf("requisicoes=%d vazao=%.1f req/s erros=%d%n",
+					latencias.getTotalCount(), latencias.getTotalCount() / (double) duracao, erros.sum());
+			System.out.printf("latencia (ms): p50=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+					latencias.getValueAtPercentile(50) / 1000.0, latencias.getValueAtPercentile(99) / 1000.0,
+					latencias.getValueAtPercentile(99.9) / 1000.0, latencias.getMaxValue() / 1000.0);
+		} finally {
+			contexto.close();
+		}
+	}
+	
+	private static boolean chamar(final String url, final String autorizacao) {
+		try {
+			final HttpURLConnection conexao = (HttpURLConnection) new URL(url).openConnection();
+			conexao.setRequestProperty("Authorization", autorizacao);
+			conexao.setConnectTimeout(30_000);
+			conexao.setReadTimeout(60_000);
+			final int status = conexao.getResponseCode();
+			try (InputStream corpo = status < 400 ? conexao.getInputStream() : conexao.getErrorStream()) {
+				if(corpo != null) {
+					final byte[] buffer = new byte[8192];
+					while (corpo.read(buffer) != -1) {
+						// consome a resposta para que a conexão volte ao keep-alive
+					}
+				}
+			}
+			return status < 400;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Atrasa a preparação de cada comando, segurando a conexão como faria um banco lento.
+	 */
+	private static final class LatenciaBanco implements BeanPostProcessor {
+		
+		private final long millis;
+		
+		LatenciaBanco(final long millis) {
+			this.millis = millis;
+		}
+		
+		@Override
+		public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+			if(millis <= 0 || !(bean instanceof DataSource) || !"dataSource".equals(beanName)) {
+				return bean;
+			}
+			return new DelegatingDataSource((DataSource) bean) {
+				@Override
+				public Connection getConnection() throws java.sql.SQLException {
+					final Connection conexao = super.getConnection();
+					return (Connection) Proxy.newProxyInstance(TesteCarga.class.getClassLoader(), new Class<?>[] { Connection.class },
+						(proxy, metodo, argumentos) -> {
+							if(metodo.getName().startsWith("prepare") || metodo.getName().equals("createStatement")) {
+								Thread.sleep(millis);
+							}
+							try {
+								return metodo.invoke(conexao, argumentos);
+							} catch (InvocationTargetException e) {
+								throw e.getTargetException();
+							}
+						});
+				}
+			};
+		}
+	
+	}
+
+}
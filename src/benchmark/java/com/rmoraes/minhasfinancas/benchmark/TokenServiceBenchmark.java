@@ -0,0 +1,51 @@
+package com.rmoraes.minhasfinancas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.service.TokenService;
+import com.rmoraes.minhasfinancas.service.impl.TokenServiceImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class TokenServiceBenchmark {
+	
+	private TokenService service;
+	private Usuario usuario;
+	private String token;
+	
+	@Setup
+	public void iniciar() {
+		service = new TokenServiceImpl("segredo-do-benchmark", 3600);
+		usuario = Usuario.builder().id(1l).build();
+		token = service.gerar(usuario);
+	}
+	
+	@Benchmark
+	public String gerar() {
+		return service.gerar(usuario);
+	}
+	
+	@Benchmark
+	public Long validar() {
+		return service.validar(token);
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.rmoraes.minhasfinancas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.service.UsuarioService;
+import com.rmoraes.minhasfinancas.service.impl.CredenciaisVerificadas;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UsuarioServiceBenchmark {
+	
+	private static final String EMAIL = "benchmark@email.com";
+	private static final String SENHA = "senha";
+	
+	@Param({"10"})
+	private int custo;
+	
+	private ConfigurableApplicationContext contexto;
+	private UsuarioService service;
+	private CredenciaisVerificadas credenciaisVerificadas;
+	
+	@Setup(Level.Trial)
+	public void iniciar() {
+		contexto = ContextoBenchmark.iniciar("--minhasfinancas.autenticacao.bcrypt.custo=" + custo);
+		service = contexto.getBean(UsuarioService.class);
+		credenciaisVerificadas = contexto.getBean(CredenciaisVerificadas.class);
+		service.salvar(Usuario.builder().nome("benchmark").email(EMAIL).senha(SENHA).build());
+	}
+	
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+	
+	@Benchmark
+	public Usuario autenticar() {
+		return service.autenticar(EMAIL, SENHA);
+	}
+	
+	@Benchmark
+	public Usuario autenticarSemCache() {
+		credenciaisVerificadas.invalidar(EMAIL);
+		return service.autenticar(EMAIL, SENHA);
+	}
+
+}
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Mede a inicialização de cada empacotamento da aplicação: tempo até a primeira resposta de
+# /actuator/health (relógio de parede, a partir do fork do processo), o "Started ... in" do
+# Spring e a memória residente (RSS) logo após essa primeira resposta.
+#
+#   src/benchmark/scripts/medir-inicializacao.sh jar|cds|nativo [repeticoes] [argumentos da aplicação...]
+#
+# Pré-requisitos por opção:
+#   jar     mvn package
+#   cds     mvn -Pcds package
+#   nativo  mvn -Pnative native:compile
+# Sem argumentos, a aplicação sobe com o perfil test (H2 em memória) na porta 18080.
+
+set -euo pipefail
+
+OPCAO=${1:?informe jar, cds ou nativo}
+REPETICOES=${2:-5}
+shift $(( $# > 1 ? 2 : 1 ))
+ARGUMENTOS=("$@")
+if [ ${#ARGUMENTOS[@]} -eq 0 ]; then
+	ARGUMENTOS=(--spring.profiles.active=test --server.port=18080)
+fi
+
+RAIZ=$(cd "$(dirname "$0")/../../.." && pwd)
+ALVO="$RAIZ/target"
+JAR=$(ls "$ALVO"/minhasfinancas-*.jar | head -n 1)
+PORTA=18080
+for argumento in "${ARGUMENTOS[@]}"; do
+	case "$argumento" in --server.port=*) PORTA=${argumento#--server.port=} ;; esac
+done
+
+case "$OPCAO" in
+	jar)    COMANDO=(java -jar "$JAR") ;;
+	cds)    COMANDO=(java -XX:SharedArchiveFile="$ALVO/cds/minhasfinancas.jsa" -Xlog:cds=error -jar "$ALVO/cds/$(basename "$JAR")") ;;
+	nativo) COMANDO=("$ALVO/minhasfinancas") ;;
+	*)      echo "opção inválida: $OPCAO" >&2; exit 1 ;;
+esac
+
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+printf '%-8s %12s %12s %10s\n' execucao primeira_ms started_s rss_mb
+for i in $(seq 1 "$REPETICOES"); do
+	inicio=$(date +%s%N)
+	"${COMANDO[@]}" "${ARGUMENTOS[@]}" > "$LOG" 2>&1 &
+	PID=$!
+	until curl -sf -o /dev/null "http://localhost:$PORTA/actuator/health"; do
+		if ! kill -0 "$PID" 2>/dev/null; then
+			cat "$LOG" >&2
+			exit 1
+		fi
+		sleep 0.05
+	done
+	fim=$(date +%s%N)
+	rss=$(awk '/VmRSS/ { print $2 }' "/proc/$PID/status")
+	started=$(grep -o 'Started MinhasfinancasApplication in [0-9.]*' "$LOG" | awk '{ print $4 }')
+	printf '%-8s %12d %12s %10d\n' "$i" $(( (fim - inicio) / 1000000 )) "${started:-?}" $(( rss / 1024 ))
+	kill "$PID"
+	wait "$PID" 2>/dev/null || true
+done
@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class AtualizaStatusDTO {
 	
+	private Long id;
 	private String status;
 
 }
@@ -0,0 +1,22 @@
+package com.rmoraes.minhasfinancas.api.dto;
+
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DivergenciaSaldoDTO {
+	
+	private Long usuario;
+	private Integer ano;
+	private Integer mes;
+	private Dinheiro saldoArmazenado;
+	private Dinheiro saldoCalculado;
+	
+}
@@ -0,0 +1,15 @@
+package com.rmoraes.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroLoteDTO {
+	
+	private Integer indice;
+	private String mensagem;
+	
+}
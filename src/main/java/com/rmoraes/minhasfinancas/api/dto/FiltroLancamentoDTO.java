@@ -0,0 +1,24 @@
+package com.rmoraes.minhasfinancas.api.dto;
+
+import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
+import com.rmoraes.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroLancamentoDTO {
+	
+	private Long usuario;
+	private Integer ano;
+	private Integer mes;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+	private String descricao;
+	
+}
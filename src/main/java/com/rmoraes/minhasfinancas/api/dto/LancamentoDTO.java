@@ -3,6 +3,8 @@ package com.rmoraes.minhasfinancas.api.dto;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,5 +25,21 @@ public class LancamentoDTO {
 	private Long usuario;
 	private String tipo;
 	private String status;
+	private Long versao;
+	
+	public static LancamentoDTO de(Lancamento lancamento) {
+		return LancamentoDTO.builder()
+							.id(lancamento.getId())
+							.descricao(lancamento.getDescricao())
+							.mes(lancamento.getMes())
+							.ano(lancamento.getAno())
+							.valor(lancamento.getValor() != null ? lancamento.getValor().paraBigDecimal() : null)
+							.dataCadastro(lancamento.getDataCadastro())
+							.usuario(lancamento.getUsuario() != null ? lancamento.getUsuario().getId() : null)
+							.tipo(lancamento.getTipo() != null ? lancamento.getTipo().name() : null)
+							.status(lancamento.getStatus() != null ? lancamento.getStatus().name() : null)
+							.versao(lancamento.getVersao())
+							.build();
+	}
 	
 }
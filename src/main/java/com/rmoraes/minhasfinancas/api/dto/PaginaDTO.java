@@ -0,0 +1,23 @@
+package com.rmoraes.minhasfinancas.api.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+	
+	private List<T> conteudo;
+	private String proximoCursor;
+	
+	public <R> PaginaDTO<R> map(Function<T, R> conversor) {
+		return new PaginaDTO<>(conteudo.stream().map(conversor).collect(Collectors.toList()), proximoCursor);
+	}
+	
+}
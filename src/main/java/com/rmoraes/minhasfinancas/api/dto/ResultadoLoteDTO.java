@@ -0,0 +1,27 @@
+package com.rmoraes.minhasfinancas.api.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ResultadoLoteDTO {
+	
+	private int salvos;
+	private List<ErroLoteDTO> erros = new ArrayList<>();
+	
+	public void adicionarErro(final int indice, final String mensagem) {
+		erros.add(new ErroLoteDTO(indice, mensagem));
+	}
+	
+	/**
+	 * Soma o resultado de um bloco, cujos erros são indexados pela posição no bloco; {@code indices}
+	 * dá a posição de cada item do bloco no lote inteiro.
+	 */
+	public void incluir(final ResultadoLoteDTO resultado, final List<Integer> indices) {
+		salvos += resultado.getSalvos();
+		resultado.getErros().forEach(erro -> adicionarErro(indices.get(erro.getIndice()), erro.getMensagem()));
+	}
+	
+}
@@ -0,0 +1,32 @@
+package com.rmoraes.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
+import com.rmoraes.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoLancamentoDTO {
+	
+	private Integer ano;
+	private Integer mes;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+	private Dinheiro total;
+	private Long quantidade;
+	private Dinheiro saldoAcumulado;
+	
+	public ResumoLancamentoDTO(Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status, BigDecimal total, Long quantidade) {
+		this(ano, mes, tipo, status, Dinheiro.de(total), quantidade, null);
+	}
+	
+}
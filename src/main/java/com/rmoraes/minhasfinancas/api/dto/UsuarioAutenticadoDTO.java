@@ -0,0 +1,38 @@
+package com.rmoraes.minhasfinancas.api.dto;
+
+import java.time.LocalDate;
+
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resposta da autenticação: os dados do usuário e o token que o cliente envia em
+ * {@code Authorization: Bearer} nas demais chamadas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioAutenticadoDTO {
+
+	private Long id;
+	private String nome;
+	private String email;
+	private LocalDate dataCadastro;
+	private String token;
+
+	public static UsuarioAutenticadoDTO de(Usuario usuario, String token) {
+		return UsuarioAutenticadoDTO.builder()
+									.id(usuario.getId())
+									.nome(usuario.getNome())
+									.email(usuario.getEmail())
+									.dataCadastro(usuario.getDataCadastro())
+									.token(token)
+									.build();
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.rmoraes.minhasfinancas.api.interceptor;
+
+import java.io.IOException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.rmoraes.minhasfinancas.exception.AutenticacaoException;
+import com.rmoraes.minhasfinancas.service.TokenService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Valida o token enviado em {@code Authorization: Bearer}, obtido no campo {@code token} da resposta de
+ * {@code POST /api/usuarios/autenticar}, e expõe o id do usuário autenticado
+ * no atributo {@link #USUARIO_AUTENTICADO} da requisição, que os resources usam para recusar com 403
+ * o acesso aos dados de outro usuário. A autenticação é obrigatória por padrão, o que quebra clientes que
+ * não enviam o token: requisições sem ele são recusadas com 401, a não ser que
+ * {@code minhasfinancas.autenticacao.obrigatoria=false}.
+ */
+@RequiredArgsConstructor
+public class AutenticacaoInterceptor implements HandlerInterceptor {
+	
+	public static final String USUARIO_AUTENTICADO = "usuarioAutenticado";
+	
+	private static final String PREFIXO = "Bearer ";
+	
+	private final TokenService tokenService;
+	private final boolean obrigatoria;
+	
+	@Override
+	public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) throws IOException {
+		final String cabecalho = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if(cabecalho == null || !cabecalho.startsWith(PREFIXO)) {
+			if(obrigatoria) {
+				response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Informe o token de autenticação.");
+				return false;
+			}
+			return true;
+		}
+		
+		try {
+			request.setAttribute(USUARIO_AUTENTICADO, tokenService.validar(cabecalho.substring(PREFIXO.length())));
+			return true;
+		} catch (AutenticacaoException e) {
+			response.sendError(HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
+			return false;
+		}
+	}
+
+}
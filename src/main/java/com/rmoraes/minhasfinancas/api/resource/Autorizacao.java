@@ -0,0 +1,47 @@
+package com.rmoraes.minhasfinancas.api.resource;
+
+import java.util.function.Predicate;
+
+import com.rmoraes.minhasfinancas.api.interceptor.AutenticacaoInterceptor;
+import com.rmoraes.minhasfinancas.exception.AcessoNegadoException;
+import com.rmoraes.minhasfinancas.exception.RegraNegocioException;
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+
+/**
+ * O usuário autenticado pelo {@link AutenticacaoInterceptor} só lê e altera os próprios dados.
+ * Sem token, o que só acontece com a autenticação desligada, vale o usuário informado na requisição.
+ */
+final class Autorizacao {
+
+	private static final String ACESSO_NEGADO = "Acesso negado aos dados de outro usuário.";
+
+	private Autorizacao() {
+	}
+
+	static Long usuarioPermitido(final Long usuarioAutenticado, final Long usuarioInformado) {
+		if(usuarioAutenticado == null) {
+			if(usuarioInformado == null) {
+				throw new RegraNegocioException("Informe um usuário.");
+			}
+			return usuarioInformado;
+		}
+		if(usuarioInformado != null && !usuarioInformado.equals(usuarioAutenticado)) {
+			throw new AcessoNegadoException(ACESSO_NEGADO);
+		}
+		return usuarioAutenticado;
+	}
+
+	static Lancamento conferirDono(final Long usuarioAutenticado, final Lancamento lancamento) {
+		if(usuarioAutenticado != null && !usuarioAutenticado.equals(lancamento.getUsuario().getId())) {
+			throw new AcessoNegadoException(ACESSO_NEGADO);
+		}
+		return lancamento;
+	}
+
+	static void conferirDonos(final Long usuarioAutenticado, final Predicate<Long> pertencemAoUsuario) {
+		if(usuarioAutenticado != null && !pertencemAoUsuario.test(usuarioAutenticado)) {
+			throw new AcessoNegadoException(ACESSO_NEGADO);
+		}
+	}
+
+}
@@ -1,22 +1,58 @@
 package com.rmoraes.minhasfinancas.api.resource;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.rmoraes.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.rmoraes.minhasfinancas.api.dto.ErroLoteDTO;
+import com.rmoraes.minhasfinancas.api.dto.FiltroLancamentoDTO;
 import com.rmoraes.minhasfinancas.api.dto.LancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.ResultadoLoteDTO;
+import com.rmoraes.minhasfinancas.api.interceptor.AutenticacaoInterceptor;
+import com.rmoraes.minhasfinancas.exception.AcessoNegadoException;
+import com.rmoraes.minhasfinancas.exception.RegraNegocioException;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
 import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.enums.FormatoExportacao;
 import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
 import com.rmoraes.minhasfinancas.model.enums.TipoLancamento;
+import com.rmoraes.minhasfinancas.service.AtualizacaoStatusService;
+import com.rmoraes.minhasfinancas.service.ExportacaoLancamentoService;
 import com.rmoraes.minhasfinancas.service.LancamentoService;
 import com.rmoraes.minhasfinancas.service.UsuarioService;
 
@@ -29,14 +65,96 @@ public class LancamentoResource {
 	
 	private final LancamentoService service;
 	private final UsuarioService usuarioService;
+	private final ExportacaoLancamentoService exportacaoService;
+	private final AtualizacaoStatusService atualizacaoStatusService;
+	private final ObjectMapper objectMapper;
+	
+	// o cliente pode guardar a resposta, mas revalida a cada uso; só ele, por ser dado do usuário
+	private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+	
+	@Value("${minhasfinancas.lancamento.lote.tamanho:500}")
+	private int tamanhoLote;
 	
-	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@SuppressWarnings("rawtypes")
 	@PostMapping
-	public ResponseEntity salvar(@RequestBody LancamentoDTO dto) {
+	public ResponseEntity salvar(
+			@RequestBody LancamentoDTO dto,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
+		try {
+			dto.setUsuario(Autorizacao.usuarioPermitido(usuarioAutenticado, dto.getUsuario()));
+			final Lancamento lancamento = service.salvar(converter(dto));
+			return ResponseEntity.status(HttpStatus.CREATED)
+								 .eTag(String.valueOf(lancamento.getVersao()))
+								 .body(LancamentoDTO.de(lancamento));
+		} catch (AcessoNegadoException e) {
+			return proibido(e);
+		} catch (Exception e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@SuppressWarnings("rawtypes")
+	@PostMapping(value = "lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity salvarEmLote(
+			@RequestBody List<LancamentoDTO> dtos,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
+		try {
+			return ResponseEntity.ok(salvarLote(dtos, usuarioAutenticado));
+		} catch (Exception e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@SuppressWarnings("rawtypes")
+	@PostMapping(value = "lote", consumes = "application/x-ndjson")
+	public ResponseEntity salvarEmLoteNdjson(
+			InputStream corpo,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
+		final ResultadoLoteDTO resultado = new ResultadoLoteDTO();
+		final ObjectReader leitor = objectMapper.readerFor(LancamentoDTO.class);
+		final List<LancamentoDTO> bloco = new ArrayList<>(tamanhoLote);
+		final List<Integer> indices = new ArrayList<>(tamanhoLote);
+		int indice = 0;
+		try (BufferedReader linhas = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+			for (String linha = linhas.readLine(); linha != null; linha = linhas.readLine()) {
+				if(!StringUtils.hasText(linha)) {
+					continue;
+				}
+				try {
+					bloco.add(leitor.readValue(linha));
+					indices.add(indice);
+				} catch (JsonProcessingException e) {
+					resultado.adicionarErro(indice, "JSON inválido: " + e.getOriginalMessage());
+				}
+				indice++;
+				if(bloco.size() == tamanhoLote) {
+					resultado.incluir(salvarLote(bloco, usuarioAutenticado), indices);
+					bloco.clear();
+					indices.clear();
+				}
+			}
+			if(!bloco.isEmpty()) {
+				resultado.incluir(salvarLote(bloco, usuarioAutenticado), indices);
+			}
+		} catch (Exception e) {
+			// os blocos anteriores já foram gravados; o cliente recebe quantos e a partir de onde nada foi processado
+			resultado.adicionarErro(indices.isEmpty() ? indice : indices.get(0), "Importação interrompida: " + e.getMessage());
+			resultado.getErros().sort(Comparator.comparing(ErroLoteDTO::getIndice));
+			return ResponseEntity.badRequest().body(resultado);
+		}
+		resultado.getErros().sort(Comparator.comparing(ErroLoteDTO::getIndice));
+		return ResponseEntity.ok(resultado);
+	}
+	
+	@SuppressWarnings("rawtypes")
+	@GetMapping("{id}")
+	public ResponseEntity obterPorId(
+			@PathVariable("id") Long id,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
 		try {
-			return new ResponseEntity(
-					service.salvar(converter(dto)),
-					HttpStatus.CREATED);
+			return comVersao(Autorizacao.conferirDono(usuarioAutenticado, service.obterPorId(id)));
+		} catch (AcessoNegadoException e) {
+			return proibido(e);
 		} catch (Exception e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
@@ -44,12 +162,45 @@ public class LancamentoResource {
 	
 	@SuppressWarnings("rawtypes")
 	@PutMapping("{id}")
-	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto) {
+	public ResponseEntity atualizar(
+			@PathVariable("id") Long id, 
+			@RequestBody LancamentoDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
 		try {
+			final Lancamento atual = Autorizacao.conferirDono(usuarioAutenticado, service.obterPorId(id));
+			dto.setUsuario(Autorizacao.usuarioPermitido(usuarioAutenticado, dto.getUsuario()));
 			final Lancamento lancamento = converter(dto);
-			lancamento.setId(service.obterPorId(id).getId());
-			service.atualizar(lancamento);
-			return ResponseEntity.ok(lancamento);
+			lancamento.setId(atual.getId());
+			// sem If-Match nem versão no corpo, vale a última escrita, como antes do versionamento
+			lancamento.setVersao(Optional.ofNullable(versaoDe(ifMatch)).or(() -> Optional.ofNullable(dto.getVersao())).orElse(atual.getVersao()));
+			return comVersao(service.atualizar(lancamento));
+		} catch (OptimisticLockingFailureException e) {
+			return conflito(ifMatch);
+		} catch (AcessoNegadoException e) {
+			return proibido(e);
+		} catch (Exception e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@SuppressWarnings("rawtypes")
+	@PatchMapping("{id}")
+	public ResponseEntity atualizarParcialmente(
+			@PathVariable("id") Long id, 
+			@RequestBody LancamentoDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
+		try {
+			Autorizacao.conferirDono(usuarioAutenticado, service.obterPorId(id));
+			if(ifMatch != null) {
+				dto.setVersao(versaoDe(ifMatch));
+			}
+			return comVersao(service.atualizarParcialmente(id, dto));
+		} catch (OptimisticLockingFailureException e) {
+			return conflito(ifMatch);
+		} catch (AcessoNegadoException e) {
+			return proibido(e);
 		} catch (Exception e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
@@ -57,23 +208,86 @@ public class LancamentoResource {
 	
 	@SuppressWarnings("rawtypes")
 	@PutMapping("{id}/atualiza-status")
-	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto) {
+	public ResponseEntity atualizarStatus(
+			@PathVariable("id") Long id, 
+			@RequestBody AtualizaStatusDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
 		try {
-			final Lancamento lancamento = service.obterPorId(id);
-			lancamento.setStatus(StatusLancamento.valueOf(dto.getStatus()));
-			service.atualizar(lancamento);
-			return ResponseEntity.ok(lancamento);
+			final StatusLancamento status = StatusLancamento.valueOf(dto.getStatus());
+			final Long versao = versaoDe(ifMatch);
+			final Lancamento lancamento = Autorizacao.conferirDono(usuarioAutenticado, service.obterPorId(id));
+			if(versao == null) {
+				return comVersao(service.atualizarStatus(id, status));
+			}
+			lancamento.setVersao(versao);
+			lancamento.setStatus(status);
+			return comVersao(service.atualizar(lancamento));
+		} catch (OptimisticLockingFailureException e) {
+			return conflito(ifMatch);
+		} catch (AcessoNegadoException e) {
+			return proibido(e);
 		} catch (Exception e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
 	}
 	
+	@SuppressWarnings("rawtypes")
+	@PutMapping("status")
+	public CompletableFuture<ResponseEntity> atualizarStatusEmLote(
+			@RequestBody List<AtualizaStatusDTO> dtos,
+			@RequestParam(value = "aguardar", defaultValue = "true") boolean aguardar,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
+		final CompletableFuture<?>[] pendentes = new CompletableFuture<?>[dtos.size()];
+		try {
+			// valida o lote inteiro antes de agendar: um 400 garante que nada foi aplicado
+			final List<Map.Entry<Long, StatusLancamento>> alteracoes = new ArrayList<>(dtos.size());
+			for (AtualizaStatusDTO dto : dtos) {
+				if(dto.getId() == null || dto.getStatus() == null) {
+					throw new RegraNegocioException("Informe o lançamento e o status.");
+				}
+				alteracoes.add(Map.entry(dto.getId(), StatusLancamento.valueOf(dto.getStatus())));
+			}
+			final List<Long> ids = alteracoes.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+			Autorizacao.conferirDonos(usuarioAutenticado, usuario -> service.pertencemAoUsuario(ids, usuario));
+			for (int i = 0; i < alteracoes.size(); i++) {
+				pendentes[i] = atualizacaoStatusService.agendar(alteracoes.get(i).getKey(), alteracoes.get(i).getValue());
+			}
+		} catch (AcessoNegadoException e) {
+			return CompletableFuture.completedFuture(proibido(e));
+		} catch (Exception e) {
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
+		}
+		
+		if(!aguardar) {
+			return CompletableFuture.completedFuture(ResponseEntity.accepted().build());
+		}
+		return CompletableFuture.allOf(pendentes)
+								.handle((resultado, erro) -> erro == null 
+										? new ResponseEntity(HttpStatus.NO_CONTENT) 
+										: ResponseEntity.badRequest().body(erro.getCause() instanceof RegraNegocioException
+												? erro.getCause().getMessage()
+												: "Não foi possível atualizar o status dos lançamentos."));
+	}
+	
 	@SuppressWarnings("rawtypes")
 	@DeleteMapping("{id}")
-	public ResponseEntity deletar(@PathVariable("id") Long id) {
+	public ResponseEntity deletar(
+			@PathVariable("id") Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
 		try {
-			service.deletar(service.obterPorId(id));
+			final Lancamento lancamento = Autorizacao.conferirDono(usuarioAutenticado, service.obterPorId(id));
+			final Long versao = versaoDe(ifMatch);
+			if(versao != null) {
+				lancamento.setVersao(versao);
+			}
+			service.deletar(lancamento);
 			return new ResponseEntity(HttpStatus.NO_CONTENT);
+		} catch (OptimisticLockingFailureException e) {
+			return conflito(ifMatch);
+		} catch (AcessoNegadoException e) {
+			return proibido(e);
 		} catch (Exception e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
@@ -85,28 +299,188 @@ public class LancamentoResource {
 			@RequestParam(value = "descricao", required = false) String descricao, 
 			@RequestParam(value = "mes", required = false) Integer mes,
 			@RequestParam(value = "ano", required = false) Integer ano,
-			@RequestParam("usuario") Long usuario) {
+			@RequestParam(value = "tipo", required = false) String tipo,
+			@RequestParam(value = "status", required = false) String status,
+			@RequestParam(value = "usuario", required = false) Long usuario,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "tamanho", required = false) Integer tamanho,
+			WebRequest requisicao,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
+		
+		try {
+			final Long idUsuario = Autorizacao.usuarioPermitido(usuarioAutenticado, usuario);
+			final String versao = service.obterVersaoDados(idUsuario);
+			if(requisicao.checkNotModified(versao)) {
+				return naoModificado(versao);
+			}
+			return ResponseEntity.ok().eTag(versao).cacheControl(REVALIDAR).body(service.buscar(FiltroLancamentoDTO.builder()
+					  .descricao(descricao)
+					  .mes(mes)
+					  .ano(ano)
+					  .tipo(tipo != null ? TipoLancamento.valueOf(tipo) : null)
+					  .status(status != null ? StatusLancamento.valueOf(status) : null)
+					  .usuario(usuarioService.obterReferencia(idUsuario).getId())
+					  .build(), cursor, tamanho).map(LancamentoDTO::de));
+		} catch (AcessoNegadoException e) {
+			return proibido(e);
+		} catch (Exception e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@SuppressWarnings("rawtypes")
+	@GetMapping("pesquisa")
+	public ResponseEntity pesquisar(
+			@RequestParam(value = "usuario", required = false) Long usuario,
+			@RequestParam("texto") String texto,
+			@RequestParam(value = "limite", required = false) Integer limite,
+			WebRequest requisicao,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
+		
+		try {
+			final Long idUsuario = Autorizacao.usuarioPermitido(usuarioAutenticado, usuario);
+			final String versao = service.obterVersaoDados(idUsuario);
+			if(requisicao.checkNotModified(versao)) {
+				return naoModificado(versao);
+			}
+			return ResponseEntity.ok().eTag(versao).cacheControl(REVALIDAR).body(
+					service.pesquisar(usuarioService.obterReferencia(idUsuario).getId(), texto, limite)
+						   .stream()
+						   .map(LancamentoDTO::de)
+						   .collect(Collectors.toList()));
+		} catch (AcessoNegadoException e) {
+			return proibido(e);
+		} catch (Exception e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@SuppressWarnings("rawtypes")
+	@GetMapping("resumo")
+	public ResponseEntity obterResumo(
+			@RequestParam(value = "usuario", required = false) Long usuario,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "saldoAcumulado", defaultValue = "false") boolean saldoAcumulado,
+			WebRequest requisicao,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
+		
+		try {
+			final Long idUsuario = Autorizacao.usuarioPermitido(usuarioAutenticado, usuario);
+			final String versao = service.obterVersaoDados(idUsuario);
+			if(requisicao.checkNotModified(versao)) {
+				return naoModificado(versao);
+			}
+			return ResponseEntity.ok().eTag(versao).cacheControl(REVALIDAR).body(
+					service.obterResumo(usuarioService.obterReferencia(idUsuario).getId(), ano, saldoAcumulado));
+		} catch (AcessoNegadoException e) {
+			return proibido(e);
+		} catch (Exception e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@SuppressWarnings("rawtypes")
+	@GetMapping("exportar")
+	public ResponseEntity exportar(
+			@RequestParam(value = "descricao", required = false) String descricao, 
+			@RequestParam(value = "mes", required = false) Integer mes,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "tipo", required = false) String tipo,
+			@RequestParam(value = "status", required = false) String status,
+			@RequestParam(value = "usuario", required = false) Long usuario,
+			@RequestParam(value = "formato", defaultValue = "NDJSON") String formato,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
 		
 		try {
-			return ResponseEntity.ok(service.buscar(Lancamento.builder()
+			final Long idUsuario = Autorizacao.usuarioPermitido(usuarioAutenticado, usuario);
+			final FiltroLancamentoDTO filtro = FiltroLancamentoDTO.builder()
 					  .descricao(descricao)
 					  .mes(mes)
 					  .ano(ano)
-					  .usuario(usuarioService.obterPorId(usuario))
-					  .build()));
+					  .tipo(tipo != null ? TipoLancamento.valueOf(tipo) : null)
+					  .status(status != null ? StatusLancamento.valueOf(status) : null)
+					  .usuario(usuarioService.obterReferencia(idUsuario).getId())
+					  .build();
+			final FormatoExportacao formatoExportacao = FormatoExportacao.valueOf(formato.toUpperCase());
+			final StreamingResponseBody corpo = saida -> exportacaoService.exportar(filtro, formatoExportacao, saida);
+			return ResponseEntity.ok()
+								 .contentType(MediaType.parseMediaType(formatoExportacao.getContentType()))
+								 .header(HttpHeaders.CONTENT_DISPOSITION, 
+										 "attachment; filename=lancamentos." + formatoExportacao.getExtensao())
+								 .body(corpo);
+		} catch (AcessoNegadoException e) {
+			return proibido(e);
 		} catch (Exception e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
 	}
 	
+	@SuppressWarnings("rawtypes")
+	private ResponseEntity comVersao(final Lancamento lancamento) {
+		return ResponseEntity.ok()
+							 .eTag(String.valueOf(lancamento.getVersao()))
+							 .body(LancamentoDTO.de(lancamento));
+	}
+	
+	@SuppressWarnings("rawtypes")
+	private ResponseEntity naoModificado(final String versao) {
+		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versao).cacheControl(REVALIDAR).build();
+	}
+	
+	@SuppressWarnings("rawtypes")
+	private ResponseEntity proibido(final AcessoNegadoException e) {
+		return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+	}
+	
+	@SuppressWarnings("rawtypes")
+	private ResponseEntity conflito(final String ifMatch) {
+		return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+							 .body("O lançamento foi alterado por outra requisição. Consulte a versão atual e tente novamente.");
+	}
+	
+	// aceita a ETag devolvida pela API ("3" ou W/"3"); "*" não exige versão
+	private Long versaoDe(final String ifMatch) {
+		if(!StringUtils.hasText(ifMatch) || "*".equals(ifMatch.trim())) {
+			return null;
+		}
+		final String etag = ifMatch.trim().startsWith("W/") ? ifMatch.trim().substring(2) : ifMatch.trim();
+		try {
+			return Long.valueOf(etag.replace("\"", ""));
+		} catch (NumberFormatException e) {
+			throw new RegraNegocioException("Cabeçalho If-Match inválido.");
+		}
+	}
+	
+	private ResultadoLoteDTO salvarLote(final List<LancamentoDTO> dtos, final Long usuarioAutenticado) {
+		final ResultadoLoteDTO resultado = new ResultadoLoteDTO();
+		final List<Lancamento> lancamentos = new ArrayList<>(dtos.size());
+		final List<Integer> indices = new ArrayList<>(dtos.size());
+		for (int i = 0; i < dtos.size(); i++) {
+			try {
+				final LancamentoDTO dto = dtos.get(i);
+				dto.setUsuario(Autorizacao.usuarioPermitido(usuarioAutenticado, dto.getUsuario()));
+				lancamentos.add(converter(dto));
+				indices.add(i);
+			} catch (Exception e) {
+				resultado.adicionarErro(i, e.getMessage());
+			}
+		}
+		
+		final ResultadoLoteDTO resultadoServico = service.salvarEmLote(lancamentos);
+		resultado.setSalvos(resultadoServico.getSalvos());
+		resultadoServico.getErros().forEach(erro -> resultado.adicionarErro(indices.get(erro.getIndice()), erro.getMensagem()));
+		resultado.getErros().sort(Comparator.comparing(ErroLoteDTO::getIndice));
+		return resultado;
+	}
+	
 	private Lancamento converter(LancamentoDTO dto) {
 		return Lancamento.builder()
 						 .id(dto.getId())
 						 .descricao(dto.getDescricao())
 						 .mes(dto.getMes())
 						 .ano(dto.getAno())
-						 .valor(dto.getValor())
-						 .usuario(usuarioService.obterPorId(dto.getUsuario()))
+						 .valor(Dinheiro.de(dto.getValor()))
+						 .usuario(usuarioService.obterReferencia(dto.getUsuario()))
 						 .tipo(dto.getTipo() != null ? TipoLancamento.valueOf(dto.getTipo()) : null)
 						 .status(dto.getStatus() != null ? StatusLancamento.valueOf(dto.getStatus()) : null)
 						 .build();
@@ -1,20 +1,27 @@
 package com.rmoraes.minhasfinancas.api.resource;
 
-import java.math.BigDecimal;
-
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.rmoraes.minhasfinancas.api.dto.UsuarioAutenticadoDTO;
 import com.rmoraes.minhasfinancas.api.dto.UsuarioDTO;
+import com.rmoraes.minhasfinancas.api.interceptor.AutenticacaoInterceptor;
+import com.rmoraes.minhasfinancas.exception.AcessoNegadoException;
 import com.rmoraes.minhasfinancas.exception.AutenticacaoException;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
 import com.rmoraes.minhasfinancas.model.entity.Usuario;
 import com.rmoraes.minhasfinancas.service.LancamentoService;
+import com.rmoraes.minhasfinancas.service.TokenService;
 import com.rmoraes.minhasfinancas.service.UsuarioService;
 
 import lombok.RequiredArgsConstructor;
@@ -24,14 +31,20 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UsuarioResource {
 
+	// o cliente pode guardar a resposta, mas revalida a cada uso; só ele, por ser dado do usuário
+	private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
 	private final UsuarioService service;
 	private final LancamentoService lancamentoService;
+	private final TokenService tokenService;
 	
 	@SuppressWarnings("rawtypes")
 	@PostMapping("/autenticar")
 	public ResponseEntity autenticar(@RequestBody UsuarioDTO dto) {		
 		try {
-			return ResponseEntity.ok(service.autenticar(dto.getEmail(), dto.getSenha()));
+			final Usuario usuario = service.autenticar(dto.getEmail(), dto.getSenha());
+			// no corpo: um cabeçalho de resposta só chega ao JavaScript do navegador se o CORS o expuser
+			return ResponseEntity.ok(UsuarioAutenticadoDTO.de(usuario, tokenService.gerar(usuario)));
 		} catch (AutenticacaoException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
@@ -56,10 +69,29 @@ public class UsuarioResource {
 	
 	@SuppressWarnings("rawtypes")
 	@GetMapping("{id}/saldo")
-	public ResponseEntity obterSaldo(@PathVariable Long id) {
+	public ResponseEntity obterSaldo(
+			@PathVariable Long id,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "mes", required = false) Integer mes,
+			WebRequest requisicao,
+			@RequestAttribute(name = AutenticacaoInterceptor.USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado) {
+		if(mes != null && ano == null) {
+			return ResponseEntity.badRequest().body("Informe o ano do mês consultado.");
+		}
 		try {
-			final BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(service.obterPorId(id).getId());
-			return ResponseEntity.ok(saldo);
+			Autorizacao.usuarioPermitido(usuarioAutenticado, id);
+			// a versão muda a cada alteração nos lançamentos do usuário; se o cliente já tem a atual, nem vai ao banco
+			final String versao = lancamentoService.obterVersaoDados(id);
+			if(requisicao.checkNotModified(versao)) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versao).cacheControl(REVALIDAR).build();
+			}
+			final Long idUsuario = service.obterPorId(id).getId();
+			final Dinheiro saldo = ano != null
+					? lancamentoService.obterSaldoPorUsuarioEPeriodo(idUsuario, ano, mes)
+					: lancamentoService.obterSaldoPorUsuario(idUsuario);
+			return ResponseEntity.ok().eTag(versao).cacheControl(REVALIDAR).body(saldo);
+		} catch (AcessoNegadoException e) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
 		} catch (Exception e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
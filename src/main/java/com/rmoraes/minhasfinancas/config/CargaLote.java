@@ -0,0 +1,16 @@
+package com.rmoraes.minhasfinancas.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca métodos de carga pesada (lotes, exportações, relatórios), que usam o pool de
+ * conexões {@code lote} em vez do pool das requisições interativas.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CargaLote {
+
+}
@@ -0,0 +1,30 @@
+package com.rmoraes.minhasfinancas.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Roda antes do {@code @Transactional} para que a conexão da transação já venha do pool de lote.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CargaLoteAspect {
+	
+	@Around("@annotation(com.rmoraes.minhasfinancas.config.CargaLote)")
+	public Object executar(final ProceedingJoinPoint joinPoint) throws Throwable {
+		final boolean iniciou = CargaTrabalho.iniciarLote();
+		try {
+			return joinPoint.proceed();
+		} finally {
+			if(iniciou) {
+				CargaTrabalho.encerrarLote();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.rmoraes.minhasfinancas.config;
+
+/**
+ * Indica à {@link RoteamentoDataSource} se a thread atual está executando uma carga pesada.
+ * Só quem iniciou a marcação deve encerrá-la, para que chamadas aninhadas não a desfaçam.
+ */
+public final class CargaTrabalho {
+	
+	private static final ThreadLocal<Boolean> EM_LOTE = new ThreadLocal<>();
+	
+	private CargaTrabalho() {
+	}
+	
+	public static boolean emLote() {
+		return EM_LOTE.get() != null;
+	}
+	
+	public static boolean iniciarLote() {
+		if(emLote()) {
+			return false;
+		}
+		EM_LOTE.set(Boolean.TRUE);
+		return true;
+	}
+	
+	public static void encerrarLote() {
+		EM_LOTE.remove();
+	}
+
+}
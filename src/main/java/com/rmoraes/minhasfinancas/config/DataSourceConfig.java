@@ -0,0 +1,90 @@
+package com.rmoraes.minhasfinancas.config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Monta os pools de conexão da aplicação: {@code interativo} ({@code spring.datasource.hikari.*}),
+ * {@code lote} ({@code minhasfinancas.datasource.lote.*}) e uma réplica por URL em
+ * {@code minhasfinancas.datasource.replicas}, com as configurações do interativo. Todos usam a URL,
+ * o usuário, a senha e o driver de {@code spring.datasource}, salvo quando o prefixo do pool os
+ * redefine, e publicam as métricas {@code hikaricp.*} com a tag {@code pool}.
+ */
+@Configuration
+public class DataSourceConfig {
+	
+	private static final String PREFIXO_INTERATIVO = "spring.datasource.hikari";
+	private static final String PREFIXO_LOTE = "minhasfinancas.datasource.lote";
+	
+	private RoteamentoDataSource roteamento;
+	
+	/*
+	 * O roteador e os pools não são expostos como beans: qualquer DataSource registrado a mais
+	 * seria tratado pelo DataSourceInitializerInvoker e formaria um ciclo com o DataSource principal.
+	 */
+	@Bean
+	@Primary
+	public DataSource dataSource(
+			final DataSourceProperties properties,
+			final Environment environment,
+			final ObjectProvider<MeterRegistry> registry) {
+		final Binder binder = Binder.get(environment);
+		final MeterRegistry meterRegistry = registry.getIfAvailable();
+		final HikariDataSource interativo = criarPool(properties, binder, PREFIXO_INTERATIVO, "interativo", meterRegistry);
+		final HikariDataSource lote = criarPool(properties, binder, PREFIXO_LOTE, "lote", meterRegistry);
+		
+		final List<String> urls = binder.bind("minhasfinancas.datasource.replicas", Bindable.listOf(String.class))
+				.orElse(Collections.emptyList());
+		final List<DataSource> replicas = new ArrayList<>(urls.size());
+		for (int i = 0; i < urls.size(); i++) {
+			final HikariDataSource replica = criarPool(properties, binder, PREFIXO_INTERATIVO, null, meterRegistry);
+			replica.setPoolName("replica-" + i);
+			replica.setJdbcUrl(urls.get(i).trim());
+			replica.setReadOnly(true);
+			replicas.add(replica);
+		}
+		
+		final long quarentenaSegundos = binder.bind("minhasfinancas.datasource.quarentena-segundos", Long.class).orElse(30L);
+		roteamento = new RoteamentoDataSource(interativo, lote, replicas, quarentenaSegundos);
+		return new LazyConnectionDataSourceProxy(roteamento);
+	}
+	
+	@PreDestroy
+	public void encerrar() throws IOException {
+		if(roteamento != null) {
+			roteamento.close();
+		}
+	}
+	
+	private HikariDataSource criarPool(final DataSourceProperties properties, final Binder binder, final String prefixo, 
+			final String nome, final MeterRegistry registry) {
+		final HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		pool.setPoolName(nome);
+		binder.bind(prefixo, Bindable.ofInstance(pool));
+		if(registry != null) {
+			pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+		}
+		return pool;
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.rmoraes.minhasfinancas.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.rmoraes.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.rmoraes.minhasfinancas.api.dto.ErroLoteDTO;
+import com.rmoraes.minhasfinancas.api.dto.LancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.PaginaDTO;
+import com.rmoraes.minhasfinancas.api.dto.ResultadoLoteDTO;
+import com.rmoraes.minhasfinancas.api.dto.ResumoLancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.UsuarioAutenticadoDTO;
+import com.rmoraes.minhasfinancas.api.dto.UsuarioDTO;
+import com.rmoraes.minhasfinancas.metricas.ConsumoBancoDadosListener;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Metadados de reflexão para a imagem nativa ({@code mvn -Pnative native:compile}). Os resources
+ * devolvem {@code ResponseEntity} sem tipo, então o AOT não descobre sozinho o que o Jackson
+ * serializa; as entidades JPA e os repositórios já são registrados pelo próprio Spring.
+ */
+@Configuration
+@ImportRuntimeHints(ImagemNativaConfig.Dicas.class)
+@RegisterReflectionForBinding({
+	LancamentoDTO.class, UsuarioDTO.class, AtualizaStatusDTO.class, PaginaDTO.class,
+	ResumoLancamentoDTO.class, ResultadoLoteDTO.class, ErroLoteDTO.class, UsuarioAutenticadoDTO.class,
+	Usuario.class, Dinheiro.class
+})
+public class ImagemNativaConfig {
+	
+	static class Dicas implements RuntimeHintsRegistrar {
+		
+		@Override
+		public void registerHints(final RuntimeHints hints, final ClassLoader classLoader) {
+			// instanciado pelo Hibernate a partir de hibernate.session.events.auto
+			hints.reflection().registerType(ConsumoBancoDadosListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+			// o DataSourceConfig associa spring.datasource.hikari.* e minhasfinancas.datasource.lote.* aos pools
+			hints.reflection().registerType(HikariDataSource.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+			hints.reflection().registerType(HikariConfig.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+			// o Flyway só registra sozinho db/migration; as migrações ficam em subpastas por banco
+			hints.resources().registerPattern("db/migration/*/*.sql");
+			// o cache de segundo nível: o Hibernate instancia o provider pelo nome e o Caffeine lê a configuração do classpath
+			hints.reflection().registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+			hints.resources().registerPattern("application.conf");
+		}
+		
+	}
+
+}
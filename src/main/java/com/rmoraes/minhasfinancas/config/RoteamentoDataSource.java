@@ -0,0 +1,115 @@
+package com.rmoraes.minhasfinancas.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.rmoraes.minhasfinancas.metricas.ConsumoBancoDados;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Envia as conexões de transações {@code readOnly} para as réplicas, em round-robin; as demais
+ * vão para o pool de lote quando a thread está em {@link CargaTrabalho#emLote() carga pesada} e
+ * para o pool interativo no resto dos casos. Uma réplica que falha ao entregar conexão fica em quarentena e é
+ * pulada até o prazo vencer; sem réplica disponível, a leitura cai no primário.
+ * <p>
+ * Precisa estar atrás de um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * o flag de somente leitura da transação só é publicado depois que o gerenciador de transações
+ * pede a conexão.
+ */
+@Slf4j
+public class RoteamentoDataSource extends AbstractDataSource implements Closeable {
+	
+	private final DataSource primario;
+	private final DataSource lote;
+	private final List<DataSource> replicas;
+	private final AtomicLongArray quarentenaAte;
+	private final AtomicInteger proxima = new AtomicInteger();
+	private final long quarentenaNanos;
+	
+	public RoteamentoDataSource(final DataSource primario, final DataSource lote, final List<DataSource> replicas, final long quarentenaSegundos) {
+		this.primario = primario;
+		this.lote = lote;
+		this.replicas = replicas;
+		this.quarentenaAte = new AtomicLongArray(replicas.size());
+		this.quarentenaNanos = TimeUnit.SECONDS.toNanos(quarentenaSegundos);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return conectar(DataSource::getConnection);
+	}
+
+	@Override
+	public Connection getConnection(final String username, final String password) throws SQLException {
+		return conectar(dataSource -> dataSource.getConnection(username, password));
+	}
+	
+	@Override
+	public void close() throws IOException {
+		fechar(primario);
+		fechar(lote);
+		for (DataSource replica : replicas) {
+			fechar(replica);
+		}
+	}
+	
+	private Connection conectar(final Conexao conexao) throws SQLException {
+		// atrás do LazyConnectionDataSourceProxy, só aqui a espera pelo pool é real
+		final long inicio = System.nanoTime();
+		try {
+			if(TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+				final Connection replica = obterConexaoReplica(conexao);
+				if(replica != null) {
+					return replica;
+				}
+			}
+			return conexao.abrir(CargaTrabalho.emLote() ? lote : primario);
+		} finally {
+			ConsumoBancoDados.registrarEsperaConexaoAtual(System.nanoTime() - inicio);
+		}
+	}
+	
+	private Connection obterConexaoReplica(final Conexao conexao) {
+		final int total = replicas.size();
+		final int inicio = Math.floorMod(proxima.getAndIncrement(), Math.max(total, 1));
+		for (int i = 0; i < total; i++) {
+			final int indice = (inicio + i) % total;
+			final long agora = System.nanoTime();
+			final long ate = quarentenaAte.get(indice);
+			if(ate != 0 && agora - ate < 0) {
+				continue;
+			}
+			try {
+				return conexao.abrir(replicas.get(indice));
+			} catch (SQLException e) {
+				quarentenaAte.set(indice, agora + quarentenaNanos);
+				log.warn("Réplica {} indisponível; fora do rodízio por {}s.", indice, TimeUnit.NANOSECONDS.toSeconds(quarentenaNanos), e);
+			}
+		}
+		return null;
+	}
+	
+	private static void fechar(final DataSource dataSource) throws IOException {
+		if(dataSource instanceof Closeable) {
+			((Closeable) dataSource).close();
+		}
+	}
+	
+	@FunctionalInterface
+	private interface Conexao {
+		Connection abrir(DataSource dataSource) throws SQLException;
+	}
+
+}
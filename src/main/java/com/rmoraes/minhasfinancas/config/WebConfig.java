@@ -0,0 +1,35 @@
+package com.rmoraes.minhasfinancas.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.rmoraes.minhasfinancas.api.interceptor.AutenticacaoInterceptor;
+import com.rmoraes.minhasfinancas.metricas.MetricasRequisicaoInterceptor;
+import com.rmoraes.minhasfinancas.service.TokenService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+	
+	private final ObjectProvider<MeterRegistry> registry;
+	private final TokenService tokenService;
+	
+	@Value("${minhasfinancas.autenticacao.obrigatoria:true}")
+	private boolean autenticacaoObrigatoria;
+	
+	@Override
+	public void addInterceptors(final InterceptorRegistry registry) {
+		this.registry.ifAvailable(meterRegistry -> 
+			registry.addInterceptor(new MetricasRequisicaoInterceptor(meterRegistry)).addPathPatterns("/api/**"));
+		registry.addInterceptor(new AutenticacaoInterceptor(tokenService, autenticacaoObrigatoria))
+				.addPathPatterns("/api/**")
+				.excludePathPatterns("/api/usuarios", "/api/usuarios/autenticar");
+	}
+
+}
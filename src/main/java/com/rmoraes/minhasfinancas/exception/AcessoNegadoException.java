@@ -0,0 +1,10 @@
+package com.rmoraes.minhasfinancas.exception;
+
+public class AcessoNegadoException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public AcessoNegadoException(String msg) {
+		super(msg);
+	}
+}
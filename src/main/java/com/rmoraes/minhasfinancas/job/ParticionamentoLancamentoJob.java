@@ -0,0 +1,82 @@
+package com.rmoraes.minhasfinancas.job;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém as partições anuais de {@code financas.lancamento} (ver {@code db/particionamento/lancamento.sql}):
+ * garante a do ano corrente e a dos próximos {@code anos-adiante}. Se a partição padrão já tiver linhas
+ * do ano, elas são movidas para a nova partição antes de anexá-la. Não faz nada fora do PostgreSQL ou
+ * enquanto a tabela não for particionada.
+ */
+@Slf4j
+@Component
+public class ParticionamentoLancamentoJob {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transacao;
+	private final int anosAdiante;
+
+	public ParticionamentoLancamentoJob(
+			final JdbcTemplate jdbcTemplate,
+			final PlatformTransactionManager transactionManager,
+			@Value("${minhasfinancas.lancamento.particionamento.anos-adiante:2}") final int anosAdiante) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.anosAdiante = anosAdiante;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(cron = "${minhasfinancas.lancamento.particionamento.cron:0 30 3 1 * *}")
+	public void executar() {
+		try {
+			if(!particionada()) {
+				log.debug("financas.lancamento não é particionada; nenhuma partição criada.");
+				return;
+			}
+			final int anoAtual = LocalDate.now().getYear();
+			for (int ano = anoAtual; ano <= anoAtual + anosAdiante; ano++) {
+				criarParticao(ano);
+			}
+		} catch (DataAccessException | TransactionException e) {
+			log.warn("Não foi possível criar as partições de financas.lancamento.", e);
+		}
+	}
+
+	void criarParticao(final int ano) {
+		final String particao = "financas.lancamento_" + ano;
+		if(Boolean.TRUE.equals(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, particao))) {
+			return;
+		}
+		final Integer movidos = transacao.execute(status -> {
+			jdbcTemplate.execute("create table " + particao + " (like financas.lancamento including defaults including constraints)");
+			final int linhas = jdbcTemplate.update("with movidos as (delete from financas.lancamento_padrao where ano = ? returning *) "
+												 + "insert into " + particao + " select * from movidos", ano);
+			jdbcTemplate.execute("alter table financas.lancamento attach partition " + particao + " for values in (" + ano + ")");
+			return linhas;
+		});
+		log.info("Partição {} criada ({} lançamentos movidos da partição padrão).", particao, movidos);
+	}
+
+	private boolean particionada() {
+		final Boolean postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>)
+				conexao -> "PostgreSQL".equals(conexao.getMetaData().getDatabaseProductName()));
+		return Boolean.TRUE.equals(postgres) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+				"select exists (select 1 from pg_partitioned_table p join pg_class c on c.oid = p.partrelid "
+			  + "join pg_namespace n on n.oid = c.relnamespace where n.nspname = 'financas' and c.relname = 'lancamento')", Boolean.class));
+	}
+
+}
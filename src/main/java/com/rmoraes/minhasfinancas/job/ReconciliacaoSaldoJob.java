@@ -0,0 +1,51 @@
+package com.rmoraes.minhasfinancas.job;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.rmoraes.minhasfinancas.api.dto.DivergenciaSaldoDTO;
+import com.rmoraes.minhasfinancas.model.repository.LancamentoRepository;
+import com.rmoraes.minhasfinancas.model.repository.SaldoRepository;
+import com.rmoraes.minhasfinancas.service.SaldoService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReconciliacaoSaldoJob {
+	
+	private final SaldoService saldoService;
+	private final LancamentoRepository lancamentoRepository;
+	private final SaldoRepository saldoRepository;
+	
+	@Value("${minhasfinancas.saldo.reconciliacao.corrigir:false}")
+	private boolean corrigir;
+	
+	@Scheduled(cron = "${minhasfinancas.saldo.reconciliacao.cron:0 0 3 * * *}")
+	public void executar() {
+		final Set<Long> usuarios = new TreeSet<>(lancamentoRepository.obterUsuariosComLancamentos());
+		usuarios.addAll(saldoRepository.obterUsuariosComSaldo());
+		
+		int usuariosComDivergencia = 0;
+		for (Long idUsuario : usuarios) {
+			final List<DivergenciaSaldoDTO> divergencias = saldoService.verificar(idUsuario);
+			if(divergencias.isEmpty()) {
+				continue;
+			}
+			usuariosComDivergencia++;
+			divergencias.forEach(divergencia -> log.warn("Saldo divergente: {}", divergencia));
+			if(corrigir) {
+				saldoService.reconstruir(idUsuario);
+			}
+		}
+		log.info("Reconciliação de saldos concluída. Usuários com divergência: {}", usuariosComDivergencia);
+	}
+
+}
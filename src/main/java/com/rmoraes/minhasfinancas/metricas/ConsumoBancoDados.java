@@ -0,0 +1,53 @@
+package com.rmoraes.minhasfinancas.metricas;
+
+import lombok.Getter;
+
+/**
+ * Acumula, por thread, o uso do banco de dados durante uma requisição HTTP:
+ * comandos JDBC executados, tempo de execução e tempo de espera por conexão.
+ */
+@Getter
+public class ConsumoBancoDados {
+	
+	private static final ThreadLocal<ConsumoBancoDados> ATUAL = new ThreadLocal<>();
+	
+	private int comandos;
+	private long tempoExecucaoNanos;
+	private long tempoEsperaConexaoNanos;
+	
+	public static ConsumoBancoDados iniciar() {
+		final ConsumoBancoDados consumo = new ConsumoBancoDados();
+		ATUAL.set(consumo);
+		return consumo;
+	}
+	
+	public static ConsumoBancoDados atual() {
+		return ATUAL.get();
+	}
+	
+	public static ConsumoBancoDados encerrar() {
+		final ConsumoBancoDados consumo = ATUAL.get();
+		ATUAL.remove();
+		return consumo;
+	}
+	
+	/**
+	 * Soma a espera por uma conexão física ao consumo da requisição corrente, se houver.
+	 */
+	public static void registrarEsperaConexaoAtual(final long nanos) {
+		final ConsumoBancoDados consumo = ATUAL.get();
+		if(consumo != null) {
+			consumo.registrarEsperaConexao(nanos);
+		}
+	}
+	
+	void registrarComando(final long nanos) {
+		comandos++;
+		tempoExecucaoNanos += nanos;
+	}
+	
+	void registrarEsperaConexao(final long nanos) {
+		tempoEsperaConexaoNanos += nanos;
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.rmoraes.minhasfinancas.metricas;
+
+import java.util.function.Consumer;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Registrado em {@code hibernate.session.events.auto}: o Hibernate cria uma instância por sessão
+ * e repassa os tempos de execução de comandos para o {@link ConsumoBancoDados} da requisição corrente,
+ * se houver. A espera por conexão é medida no
+ * {@link com.rmoraes.minhasfinancas.config.RoteamentoDataSource}: os eventos de aquisição do Hibernate
+ * só cronometram o proxy preguiçoso.
+ */
+public class ConsumoBancoDadosListener extends BaseSessionEventListener {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private long inicioComando;
+	
+	@Override
+	public void jdbcExecuteStatementStart() {
+		inicioComando = System.nanoTime();
+	}
+	
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		registrar(consumo -> consumo.registrarComando(System.nanoTime() - inicioComando));
+	}
+	
+	@Override
+	public void jdbcExecuteBatchStart() {
+		inicioComando = System.nanoTime();
+	}
+	
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		registrar(consumo -> consumo.registrarComando(System.nanoTime() - inicioComando));
+	}
+	
+	private void registrar(final Consumer<ConsumoBancoDados> acao) {
+		final ConsumoBancoDados consumo = ConsumoBancoDados.atual();
+		if(consumo != null) {
+			acao.accept(consumo);
+		}
+	}
+
+}
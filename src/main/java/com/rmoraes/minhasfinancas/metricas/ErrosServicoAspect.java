@@ -0,0 +1,45 @@
+package com.rmoraes.minhasfinancas.metricas;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Conta as exceções lançadas pela camada de serviço, por tipo e método. Os resources
+ * convertem essas exceções em 400, então elas não aparecem em {@code http.server.requests}.
+ * Só a chamada mais externa conta, para que um erro propagado entre serviços não seja
+ * contado duas vezes.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ErrosServicoAspect {
+	
+	private static final ThreadLocal<Integer> PROFUNDIDADE = ThreadLocal.withInitial(() -> 0);
+	
+	private final MeterRegistry registry;
+	
+	@Around("within(com.rmoraes.minhasfinancas.service.impl..*)")
+	public Object contar(final ProceedingJoinPoint joinPoint) throws Throwable {
+		final int profundidade = PROFUNDIDADE.get();
+		PROFUNDIDADE.set(profundidade + 1);
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			if(profundidade == 0) {
+				registry.counter("minhasfinancas.servico.erros",
+								 "excecao", e.getClass().getSimpleName(),
+								 "metodo", joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName())
+						.increment();
+			}
+			throw e;
+		} finally {
+			PROFUNDIDADE.set(profundidade);
+		}
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.rmoraes.minhasfinancas.metricas;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publica, por endpoint, quantos comandos SQL cada requisição executou, quanto tempo passou
+ * no banco e quanto esperou por uma conexão do pool.
+ */
+@RequiredArgsConstructor
+public class MetricasRequisicaoInterceptor implements AsyncHandlerInterceptor {
+	
+	private final MeterRegistry registry;
+	
+	@Override
+	public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+		ConsumoBancoDados.iniciar();
+		return true;
+	}
+	
+	@Override
+	public void afterConcurrentHandlingStarted(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+		ConsumoBancoDados.encerrar();
+	}
+	
+	@Override
+	public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response, final Object handler, final Exception ex) {
+		final ConsumoBancoDados consumo = ConsumoBancoDados.encerrar();
+		if(consumo == null) {
+			return;
+		}
+		final Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		final Tags tags = Tags.of("method", request.getMethod(), "uri", padrao != null ? padrao.toString() : "UNKNOWN");
+		
+		DistributionSummary.builder("minhasfinancas.requisicao.sql.comandos")
+						   .tags(tags)
+						   .publishPercentiles(0.5, 0.99, 0.999)
+						   .register(registry)
+						   .record(consumo.getComandos());
+		Timer.builder("minhasfinancas.requisicao.sql.tempo")
+			 .tags(tags)
+			 .publishPercentiles(0.5, 0.99, 0.999)
+			 .register(registry)
+			 .record(consumo.getTempoExecucaoNanos(), TimeUnit.NANOSECONDS);
+		Timer.builder("minhasfinancas.requisicao.conexao.espera")
+			 .tags(tags)
+			 .publishPercentiles(0.5, 0.99, 0.999)
+			 .register(registry)
+			 .record(consumo.getTempoEsperaConexaoNanos(), TimeUnit.NANOSECONDS);
+	}
+
+}
@@ -0,0 +1,120 @@
+package com.rmoraes.minhasfinancas.model.dinheiro;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Valor monetário em centavos guardados num {@code long}. As somas não alocam {@link BigDecimal}
+ * e estouram com {@link ArithmeticException} em vez de perder precisão. No JSON continua sendo
+ * um número com duas casas decimais.
+ */
+public final class Dinheiro implements Comparable<Dinheiro>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final int CASAS_DECIMAIS = 2;
+
+	public static final Dinheiro ZERO = new Dinheiro(0L);
+
+	private final long centavos;
+
+	private Dinheiro(final long centavos) {
+		this.centavos = centavos;
+	}
+
+	public static Dinheiro deCentavos(final long centavos) {
+		return centavos == 0L ? ZERO : new Dinheiro(centavos);
+	}
+
+	public static Dinheiro reais(final long reais) {
+		try {
+			return deCentavos(Math.multiplyExact(reais, 100L));
+		} catch (ArithmeticException e) {
+			throw new ArithmeticException("Valor fora do limite suportado.");
+		}
+	}
+
+	@JsonCreator
+	public static Dinheiro de(final BigDecimal valor) {
+		if(valor == null) {
+			return null;
+		}
+		try {
+			return deCentavos(valor.setScale(CASAS_DECIMAIS, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+		} catch (ArithmeticException e) {
+			throw new ArithmeticException(valor.scale() > CASAS_DECIMAIS && valor.stripTrailingZeros().scale() > CASAS_DECIMAIS
+					? "Informe um valor com no máximo duas casas decimais."
+					: "Valor fora do limite suportado.");
+		}
+	}
+
+	public static long somarCentavos(final long a, final long b) {
+		try {
+			return Math.addExact(a, b);
+		} catch (ArithmeticException e) {
+			throw new ArithmeticException("Valor fora do limite suportado.");
+		}
+	}
+
+	public static long subtrairCentavos(final long a, final long b) {
+		try {
+			return Math.subtractExact(a, b);
+		} catch (ArithmeticException e) {
+			throw new ArithmeticException("Valor fora do limite suportado.");
+		}
+	}
+
+	public long getCentavos() {
+		return centavos;
+	}
+
+	public Dinheiro somar(final Dinheiro outro) {
+		return deCentavos(somarCentavos(centavos, outro.centavos));
+	}
+
+	public Dinheiro subtrair(final Dinheiro outro) {
+		return deCentavos(subtrairCentavos(centavos, outro.centavos));
+	}
+
+	public Dinheiro negar() {
+		return deCentavos(subtrairCentavos(0L, centavos));
+	}
+
+	public boolean isPositivo() {
+		return centavos > 0L;
+	}
+
+	public boolean isZero() {
+		return centavos == 0L;
+	}
+
+	@JsonValue
+	public BigDecimal paraBigDecimal() {
+		return BigDecimal.valueOf(centavos, CASAS_DECIMAIS);
+	}
+
+	@Override
+	public int compareTo(final Dinheiro outro) {
+		return Long.compare(centavos, outro.centavos);
+	}
+
+	@Override
+	public boolean equals(final Object outro) {
+		return this == outro || (outro instanceof Dinheiro && ((Dinheiro) outro).centavos == centavos);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(centavos);
+	}
+
+	@Override
+	public String toString() {
+		return paraBigDecimal().toPlainString();
+	}
+
+}
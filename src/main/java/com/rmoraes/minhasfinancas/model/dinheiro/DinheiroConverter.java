@@ -0,0 +1,24 @@
+package com.rmoraes.minhasfinancas.model.dinheiro;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava {@link Dinheiro} em colunas {@code numeric(16,2)}.
+ */
+@Converter(autoApply = true)
+public class DinheiroConverter implements AttributeConverter<Dinheiro, BigDecimal> {
+
+	@Override
+	public BigDecimal convertToDatabaseColumn(final Dinheiro dinheiro) {
+		return dinheiro != null ? dinheiro.paraBigDecimal() : null;
+	}
+
+	@Override
+	public Dinheiro convertToEntityAttribute(final BigDecimal valor) {
+		return Dinheiro.de(valor);
+	}
+
+}
@@ -1,31 +1,41 @@
 package com.rmoraes.minhasfinancas.model.entity;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
-import javax.persistence.Column;
-import javax.persistence.Convert;
-import javax.persistence.Entity;
-import javax.persistence.EnumType;
-import javax.persistence.Enumerated;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
-import javax.persistence.JoinColumn;
-import javax.persistence.ManyToOne;
-import javax.persistence.Table;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
-import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
 import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
 import com.rmoraes.minhasfinancas.model.enums.TipoLancamento;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lancamento")
 @Table(name = "lancamento", schema = "financas")
 @Builder
 @Data
@@ -35,7 +45,8 @@ public class Lancamento {
 
 	@Id
 	@Column(name = "id")
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_id_seq")
+	@SequenceGenerator(name = "lancamento_id_seq", schema = "financas", sequenceName = "lancamento_id_seq", allocationSize = 50)
 	private Long id;
 	
 	@Column(name = "descricao", length = 100)
@@ -44,14 +55,13 @@ public class Lancamento {
 	@Column(name = "mes")
 	private Integer mes;
 	
-	@Column(name = "ano")
+	@Column(name = "ano", nullable = false)
 	private Integer ano;
 	
-	@Column(name = "valor")
-	private BigDecimal valor;
+	@Column(name = "valor", precision = 16, scale = 2)
+	private Dinheiro valor;
 	
 	@Column(name = "data_cadastro")
-	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
 	private LocalDate dataCadastro;
 	
 	@Column(name = "tipo")
@@ -62,8 +72,15 @@ public class Lancamento {
 	@Enumerated(value = EnumType.STRING)
 	private StatusLancamento status;
 	
-	@ManyToOne
+	// fora do toString/equals/hashCode para não inicializar o proxy LAZY fora de transação
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "id_usuario")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	private Usuario usuario;
 	
+	@Version
+	@Column(name = "versao", nullable = false)
+	private Long versao;
+	
 }
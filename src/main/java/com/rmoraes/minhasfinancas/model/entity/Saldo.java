@@ -0,0 +1,86 @@
+package com.rmoraes.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+import com.rmoraes.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "saldo", schema = "financas", 
+	   uniqueConstraints = @UniqueConstraint(name = "uk_saldo_usuario_ano_mes", columnNames = { "id_usuario", "ano", "mes" }))
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Saldo {
+
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@Column(name = "id_usuario", nullable = false)
+	private Long idUsuario;
+	
+	@Column(name = "ano", nullable = false)
+	private Integer ano;
+	
+	@Column(name = "mes", nullable = false)
+	private Integer mes;
+	
+	@Column(name = "receitas", nullable = false, precision = 16, scale = 2)
+	private Dinheiro receitas;
+	
+	@Column(name = "despesas", nullable = false, precision = 16, scale = 2)
+	private Dinheiro despesas;
+	
+	public Saldo(Long idUsuario, Integer ano, Integer mes, Dinheiro receitas, Dinheiro despesas) {
+		this.idUsuario = idUsuario;
+		this.ano = ano;
+		this.mes = mes;
+		this.receitas = receitas != null ? receitas : Dinheiro.ZERO;
+		this.despesas = despesas != null ? despesas : Dinheiro.ZERO;
+	}
+	
+	/**
+	 * Usado pelas projeções JPQL, em que as somas por tipo chegam do banco como {@link BigDecimal}.
+	 */
+	public Saldo(Long idUsuario, Integer ano, Integer mes, BigDecimal receitas, BigDecimal despesas) {
+		this(idUsuario, ano, mes, Dinheiro.de(receitas), Dinheiro.de(despesas));
+	}
+	
+	public static Saldo de(Lancamento lancamento) {
+		final boolean receita = TipoLancamento.RECEITA.equals(lancamento.getTipo());
+		return new Saldo(lancamento.getUsuario().getId(),
+						 lancamento.getAno(),
+						 lancamento.getMes(),
+						 receita ? lancamento.getValor() : Dinheiro.ZERO,
+						 receita ? Dinheiro.ZERO : lancamento.getValor());
+	}
+	
+	public Saldo somar(Saldo outro) {
+		return new Saldo(idUsuario, ano, mes, receitas.somar(outro.getReceitas()), despesas.somar(outro.getDespesas()));
+	}
+	
+	public Saldo negar() {
+		return new Saldo(idUsuario, ano, mes, receitas.negar(), despesas.negar());
+	}
+	
+	public Dinheiro calcularSaldo() {
+		return receitas.subtrair(despesas);
+	}
+	
+}
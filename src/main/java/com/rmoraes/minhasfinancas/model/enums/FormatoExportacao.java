@@ -0,0 +1,24 @@
+package com.rmoraes.minhasfinancas.model.enums;
+
+public enum FormatoExportacao {
+
+	NDJSON("application/x-ndjson", "ndjson"),
+	CSV("text/csv", "csv");
+	
+	private final String contentType;
+	private final String extensao;
+	
+	FormatoExportacao(String contentType, String extensao) {
+		this.contentType = contentType;
+		this.extensao = extensao;
+	}
+	
+	public String getContentType() {
+		return contentType;
+	}
+	
+	public String getExtensao() {
+		return extensao;
+	}
+	
+}
@@ -1,18 +1,59 @@
 package com.rmoraes.minhasfinancas.model.repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.rmoraes.minhasfinancas.api.dto.ResumoLancamentoDTO;
 import com.rmoraes.minhasfinancas.model.entity.Lancamento;
-import com.rmoraes.minhasfinancas.model.enums.TipoLancamento;
+import com.rmoraes.minhasfinancas.model.entity.Saldo;
+import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, LancamentoRepositoryCustom {
 
-	@Query(value = "select sum(l.valor) from Lancamento l join l.usuario u "
-				  + "where u.id = :idUsuario and l.tipo = :tipo group by u")
-	BigDecimal obterSaldoPorTipoLancamentoEUsuario(@Param("idUsuario") Long idUsuario, @Param("tipo") TipoLancamento tipo);
+	@Query(value = "select new com.rmoraes.minhasfinancas.model.entity.Saldo(l.usuario.id, l.ano, l.mes, "
+				  + "case when l.tipo = com.rmoraes.minhasfinancas.model.enums.TipoLancamento.RECEITA then l.valor else 0 end, "
+				  + "case when l.tipo = com.rmoraes.minhasfinancas.model.enums.TipoLancamento.DESPESA then l.valor else 0 end) "
+				  + "from Lancamento l where l.id = :id")
+	@QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+	Optional<Saldo> obterContribuicaoParaSaldo(@Param("id") Long id);
+	
+	@Query(value = "select new com.rmoraes.minhasfinancas.model.entity.Saldo(l.usuario.id, l.ano, l.mes, "
+				  + "sum(case when l.tipo = com.rmoraes.minhasfinancas.model.enums.TipoLancamento.RECEITA then l.valor else 0 end), "
+				  + "sum(case when l.tipo = com.rmoraes.minhasfinancas.model.enums.TipoLancamento.DESPESA then l.valor else 0 end)) "
+				  + "from Lancamento l where l.usuario.id = :idUsuario group by l.usuario.id, l.ano, l.mes")
+	List<Saldo> calcularSaldosPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	@Query(value = "select distinct l.usuario.id from Lancamento l")
+	List<Long> obterUsuariosComLancamentos();
+	
+	@Query(value = "select new com.rmoraes.minhasfinancas.api.dto.ResumoLancamentoDTO(l.ano, l.mes, l.tipo, l.status, sum(l.valor), count(l)) "
+				  + "from Lancamento l where l.usuario.id = :idUsuario "
+				  + "group by l.ano, l.mes, l.tipo, l.status order by l.ano, l.mes, l.tipo, l.status")
+	List<ResumoLancamentoDTO> obterResumoPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	// igualdade simples em ano (sem ":ano is null or") para o PostgreSQL podar as partições também no plano genérico
+	@Query(value = "select new com.rmoraes.minhasfinancas.api.dto.ResumoLancamentoDTO(l.ano, l.mes, l.tipo, l.status, sum(l.valor), count(l)) "
+				  + "from Lancamento l where l.usuario.id = :idUsuario and l.ano = :ano "
+				  + "group by l.ano, l.mes, l.tipo, l.status order by l.ano, l.mes, l.tipo, l.status")
+	List<ResumoLancamentoDTO> obterResumoPorUsuarioEAno(@Param("idUsuario") Long idUsuario, @Param("ano") Integer ano);
+	
+	@Query(value = "select distinct l.usuario.id from Lancamento l where l.id in :ids")
+	List<Long> obterUsuarios(@Param("ids") Collection<Long> ids);
+	
+	@Query(value = "select l.id from Lancamento l where l.id in :ids")
+	List<Long> obterExistentes(@Param("ids") Collection<Long> ids);
+	
+	@Modifying
+	@Query(value = "update Lancamento l set l.status = :status, l.versao = l.versao + 1 where l.id in :ids")
+	int atualizarStatus(@Param("ids") Collection<Long> ids, @Param("status") StatusLancamento status);
 	
 }
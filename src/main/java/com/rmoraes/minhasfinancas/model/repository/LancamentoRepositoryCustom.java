@@ -0,0 +1,17 @@
+package com.rmoraes.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.rmoraes.minhasfinancas.api.dto.FiltroLancamentoDTO;
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+
+public interface LancamentoRepositoryCustom {
+
+	List<Lancamento> buscar(FiltroLancamentoDTO filtro, Long aposId, int limite);
+	
+	Stream<Lancamento> exportar(FiltroLancamentoDTO filtro);
+	
+	void desanexar(Lancamento lancamento);
+	
+}
@@ -0,0 +1,79 @@
+package com.rmoraes.minhasfinancas.model.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.util.StringUtils;
+
+import com.rmoraes.minhasfinancas.api.dto.FiltroLancamentoDTO;
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+	
+	private static final int TAMANHO_LOTE_EXPORTACAO = 500;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<Lancamento> buscar(final FiltroLancamentoDTO filtro, final Long aposId, final int limite) {
+		return entityManager.createQuery(criarConsulta(filtro, aposId))
+							.setMaxResults(limite)
+							.getResultList();
+	}
+	
+	@Override
+	public Stream<Lancamento> exportar(final FiltroLancamentoDTO filtro) {
+		return entityManager.createQuery(criarConsulta(filtro, null))
+							.setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_LOTE_EXPORTACAO)
+							.setHint(HibernateHints.HINT_READ_ONLY, true)
+							.getResultStream();
+	}
+	
+	@Override
+	public void desanexar(final Lancamento lancamento) {
+		entityManager.detach(lancamento);
+	}
+	
+	private CriteriaQuery<Lancamento> criarConsulta(final FiltroLancamentoDTO filtro, final Long aposId) {
+		final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		final CriteriaQuery<Lancamento> query = builder.createQuery(Lancamento.class);
+		final Root<Lancamento> lancamento = query.from(Lancamento.class);
+		
+		final List<Predicate> predicados = new ArrayList<>();
+		predicados.add(builder.equal(lancamento.get("usuario").get("id"), filtro.getUsuario()));
+		if(filtro.getAno() != null) {
+			predicados.add(builder.equal(lancamento.get("ano"), filtro.getAno()));
+		}
+		if(filtro.getMes() != null) {
+			predicados.add(builder.equal(lancamento.get("mes"), filtro.getMes()));
+		}
+		if(filtro.getTipo() != null) {
+			predicados.add(builder.equal(lancamento.get("tipo"), filtro.getTipo()));
+		}
+		if(filtro.getStatus() != null) {
+			predicados.add(builder.equal(lancamento.get("status"), filtro.getStatus()));
+		}
+		if(StringUtils.hasLength(filtro.getDescricao())) {
+			predicados.add(builder.like(builder.lower(lancamento.get("descricao")), 
+					"%" + filtro.getDescricao().toLowerCase() + "%"));
+		}
+		if(aposId != null) {
+			predicados.add(builder.greaterThan(lancamento.get("id"), aposId));
+		}
+		
+		return query.select(lancamento)
+					.where(predicados.toArray(new Predicate[0]))
+					.orderBy(builder.asc(lancamento.get("id")));
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.rmoraes.minhasfinancas.model.repository;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Pesquisa textual na descrição dos lançamentos de um usuário. Cada termo casa por prefixo,
+ * sem diferenciar maiúsculas nem acentos, todos os termos precisam aparecer e os ids voltam do
+ * mais para o menos relevante, para serem carregados pelo {@link LancamentoRepository}.
+ * O motor é escolhido por {@code minhasfinancas.lancamento.pesquisa.motor}.
+ */
+public interface PesquisaDescricao {
+
+	List<Long> pesquisar(Long idUsuario, String texto, int limite);
+
+	static List<String> termos(final String texto) {
+		if(texto == null) {
+			return List.of();
+		}
+		final String semAcento = Normalizer.normalize(texto, Normalizer.Form.NFD)
+										   .replaceAll("\\p{M}+", "")
+										   .toLowerCase(Locale.ROOT);
+		return Arrays.stream(semAcento.split("[^\\p{L}\\p{N}]+"))
+					 .filter(termo -> !termo.isEmpty())
+					 .distinct()
+					 .collect(Collectors.toList());
+	}
+
+}
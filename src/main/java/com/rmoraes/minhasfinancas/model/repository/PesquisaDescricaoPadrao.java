@@ -0,0 +1,74 @@
+package com.rmoraes.minhasfinancas.model.repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Pesquisa portável (H2 nos testes e no desenvolvimento local): percorre as descrições do usuário
+ * e pontua em memória, 2 por termo igual a uma palavra e 1 por termo que só é prefixo. Lê todos os
+ * lançamentos do usuário a cada chamada; em produção use o motor {@code postgresql}.
+ */
+@Repository
+@ConditionalOnProperty(name = "minhasfinancas.lancamento.pesquisa.motor", havingValue = "padrao", matchIfMissing = true)
+public class PesquisaDescricaoPadrao implements PesquisaDescricao {
+
+	private static final int TAMANHO_LOTE_LEITURA = 500;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<Long> pesquisar(final Long idUsuario, final String texto, final int limite) {
+		final List<String> termos = PesquisaDescricao.termos(texto);
+		if(termos.isEmpty()) {
+			return List.of();
+		}
+		try (Stream<Object[]> linhas = entityManager.createQuery(
+				"select l.id, l.descricao from Lancamento l where l.usuario.id = :idUsuario and l.descricao is not null", Object[].class)
+				.setParameter("idUsuario", idUsuario)
+				.setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_LOTE_LEITURA)
+				.getResultStream()) {
+			return linhas.map(linha -> new Resultado((Long) linha[0], relevancia(PesquisaDescricao.termos((String) linha[1]), termos)))
+						 .filter(resultado -> resultado.relevancia() > 0)
+						 .sorted(Comparator.comparingInt(Resultado::relevancia).reversed()
+										   .thenComparing(Comparator.comparingLong(Resultado::id).reversed()))
+						 .limit(limite)
+						 .map(Resultado::id)
+						 .collect(Collectors.toList());
+		}
+	}
+
+	static int relevancia(final List<String> palavras, final List<String> termos) {
+		int total = 0;
+		for (String termo : termos) {
+			int melhor = 0;
+			for (String palavra : palavras) {
+				if(palavra.equals(termo)) {
+					melhor = 2;
+					break;
+				}
+				if(palavra.startsWith(termo)) {
+					melhor = 1;
+				}
+			}
+			if(melhor == 0) {
+				return 0;
+			}
+			total += melhor;
+		}
+		return total;
+	}
+
+	private record Resultado(Long id, int relevancia) {
+	}
+
+}
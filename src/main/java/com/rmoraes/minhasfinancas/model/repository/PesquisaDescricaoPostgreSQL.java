@@ -0,0 +1,44 @@
+package com.rmoraes.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Pesquisa com {@code tsvector} em português sobre o índice GIN {@code idx_lancamento_descricao_texto}
+ * (migração V5), ordenada por {@code ts_rank}. O índice acompanha as escritas na própria transação.
+ */
+@Repository
+@ConditionalOnProperty(name = "minhasfinancas.lancamento.pesquisa.motor", havingValue = "postgresql")
+public class PesquisaDescricaoPostgreSQL implements PesquisaDescricao {
+
+	// precisa ser idêntica à expressão do índice
+	private static final String DOCUMENTO = "to_tsvector('portuguese'::regconfig, financas.sem_acento(l.descricao))";
+
+	static final String CONSULTA = "select l.id from financas.lancamento l, to_tsquery('portuguese'::regconfig, :consulta) q "
+								 + "where l.id_usuario = :idUsuario and " + DOCUMENTO + " @@ q "
+								 + "order by ts_rank(" + DOCUMENTO + ", q) desc, l.id desc";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<Long> pesquisar(final Long idUsuario, final String texto, final int limite) {
+		final List<String> termos = PesquisaDescricao.termos(texto);
+		if(termos.isEmpty()) {
+			return List.of();
+		}
+		final List<?> ids = entityManager.createNativeQuery(CONSULTA)
+				.setParameter("consulta", termos.stream().map(termo -> termo + ":*").collect(Collectors.joining(" & ")))
+				.setParameter("idUsuario", idUsuario)
+				.setMaxResults(limite)
+				.getResultList();
+		return ids.stream().map(id -> ((Number) id).longValue()).collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.rmoraes.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.rmoraes.minhasfinancas.model.entity.Saldo;
+
+public interface SaldoRepository extends JpaRepository<Saldo, Long>, SaldoRepositoryCustom {
+	
+	List<Saldo> findByIdUsuario(Long idUsuario);
+	
+	@Query(value = "select sum(s.receitas - s.despesas) from Saldo s where s.idUsuario = :idUsuario")
+	BigDecimal obterSaldoPorUsuario(@Param("idUsuario") Long idUsuario);
+	
+	@Query(value = "select s.receitas - s.despesas from Saldo s "
+				  + "where s.idUsuario = :idUsuario and s.ano = :ano and s.mes = :mes")
+	BigDecimal obterSaldoPorUsuarioEPeriodo(@Param("idUsuario") Long idUsuario, @Param("ano") Integer ano, @Param("mes") Integer mes);
+	
+	@Query(value = "select sum(s.receitas - s.despesas) from Saldo s where s.idUsuario = :idUsuario and s.ano = :ano")
+	BigDecimal obterSaldoPorUsuarioEAno(@Param("idUsuario") Long idUsuario, @Param("ano") Integer ano);
+	
+	@Query(value = "select distinct s.idUsuario from Saldo s")
+	List<Long> obterUsuariosComSaldo();
+	
+	@Modifying
+	@Query(value = "delete from Saldo s where s.idUsuario = :idUsuario")
+	void deletarPorUsuario(@Param("idUsuario") Long idUsuario);
+
+}
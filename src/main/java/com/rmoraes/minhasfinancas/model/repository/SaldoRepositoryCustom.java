@@ -0,0 +1,9 @@
+package com.rmoraes.minhasfinancas.model.repository;
+
+import com.rmoraes.minhasfinancas.model.entity.Saldo;
+
+public interface SaldoRepositoryCustom {
+
+	void acumular(Saldo contribuicao);
+
+}
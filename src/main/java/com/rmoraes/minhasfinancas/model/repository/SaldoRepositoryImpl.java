@@ -0,0 +1,58 @@
+package com.rmoraes.minhasfinancas.model.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import com.rmoraes.minhasfinancas.model.entity.Saldo;
+
+/**
+ * Soma a contribuição ao saldo do período num único comando, criando a linha quando ela ainda não
+ * existe. No PostgreSQL o {@code on conflict} é atômico mesmo com duas transações criando o mesmo
+ * período ao mesmo tempo; nos demais bancos (H2 nos testes) usa o {@code merge} do SQL padrão.
+ */
+public class SaldoRepositoryImpl implements SaldoRepositoryCustom {
+
+	private static final String ACUMULAR_POSTGRESQL =
+			"insert into financas.saldo as s (id_usuario, ano, mes, receitas, despesas) "
+		  + "values (:idUsuario, :ano, :mes, :receitas, :despesas) "
+		  + "on conflict (id_usuario, ano, mes) do update "
+		  + "set receitas = s.receitas + excluded.receitas, despesas = s.despesas + excluded.despesas";
+
+	private static final String ACUMULAR_PADRAO =
+			"merge into financas.saldo s "
+		  + "using (values (cast(:idUsuario as bigint), cast(:ano as integer), cast(:mes as integer), "
+		  + "cast(:receitas as numeric(16,2)), cast(:despesas as numeric(16,2)))) c (id_usuario, ano, mes, receitas, despesas) "
+		  + "on s.id_usuario = c.id_usuario and s.ano = c.ano and s.mes = c.mes "
+		  + "when matched then update set receitas = s.receitas + c.receitas, despesas = s.despesas + c.despesas "
+		  + "when not matched then insert (id_usuario, ano, mes, receitas, despesas) "
+		  + "values (c.id_usuario, c.ano, c.mes, c.receitas, c.despesas)";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public void acumular(final Saldo contribuicao) {
+		entityManager.createNativeQuery(postgreSQL() ? ACUMULAR_POSTGRESQL : ACUMULAR_PADRAO)
+					 .unwrap(NativeQuery.class)
+					 // sem isso o Hibernate invalidaria todo o cache de segundo nível
+					 .addSynchronizedEntityClass(Saldo.class)
+					 .setParameter("idUsuario", contribuicao.getIdUsuario())
+					 .setParameter("ano", contribuicao.getAno())
+					 .setParameter("mes", contribuicao.getMes())
+					 .setParameter("receitas", contribuicao.getReceitas().paraBigDecimal())
+					 .setParameter("despesas", contribuicao.getDespesas().paraBigDecimal())
+					 .executeUpdate();
+	}
+
+	private boolean postgreSQL() {
+		return entityManager.getEntityManagerFactory()
+							.unwrap(SessionFactoryImplementor.class)
+							.getJdbcServices()
+							.getDialect() instanceof PostgreSQLDialect;
+	}
+
+}
@@ -1,8 +1,18 @@
 package com.rmoraes.minhasfinancas.model.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.rmoraes.minhasfinancas.model.entity.Usuario;
 
@@ -10,6 +20,26 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 	
 	public boolean existsByEmail(String email);
 	
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+		@QueryHint(name = "org.hibernate.cacheRegion", value = "usuario-por-email")
+	})
 	public Optional<Usuario> findByEmail(String email);
+	
+	@Query(value = "select u.email from Usuario u")
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+	public Stream<String> obterEmails();
+	
+	/*
+	 * Quem altera saldos trava o usuário em modo compartilhado e a reconstrução em modo exclusivo:
+	 * alterações concorrentes não se bloqueiam, mas nenhuma se intercala com uma reconstrução.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_READ)
+	@Query(value = "select u from Usuario u where u.id in :ids order by u.id")
+	public List<Usuario> bloquearParaAlterarSaldo(@Param("ids") Collection<Long> ids);
+	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select u from Usuario u where u.id = :id")
+	public Optional<Usuario> bloquearParaReconstruirSaldo(@Param("id") Long id);
 
 }
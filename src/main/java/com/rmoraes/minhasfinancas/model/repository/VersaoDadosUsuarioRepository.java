@@ -0,0 +1,23 @@
+package com.rmoraes.minhasfinancas.model.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rmoraes.minhasfinancas.model.entity.VersaoDadosUsuario;
+
+public interface VersaoDadosUsuarioRepository extends JpaRepository<VersaoDadosUsuario, Long> {
+	
+	@Query(value = "select v.versao from VersaoDadosUsuario v where v.idUsuario = :idUsuario")
+	Optional<Long> obterVersao(@Param("idUsuario") Long idUsuario);
+	
+	@Transactional
+	@Modifying
+	@Query(value = "update VersaoDadosUsuario v set v.versao = v.versao + 1 where v.idUsuario = :idUsuario")
+	int incrementar(@Param("idUsuario") Long idUsuario);
+
+}
@@ -0,0 +1,11 @@
+package com.rmoraes.minhasfinancas.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
+
+public interface AtualizacaoStatusService {
+
+	CompletableFuture<Void> agendar(Long id, StatusLancamento status);
+	
+}
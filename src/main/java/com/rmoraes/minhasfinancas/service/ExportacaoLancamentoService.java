@@ -0,0 +1,13 @@
+package com.rmoraes.minhasfinancas.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.rmoraes.minhasfinancas.api.dto.FiltroLancamentoDTO;
+import com.rmoraes.minhasfinancas.model.enums.FormatoExportacao;
+
+public interface ExportacaoLancamentoService {
+
+	void exportar(FiltroLancamentoDTO filtro, FormatoExportacao formato, OutputStream saida) throws IOException;
+	
+}
@@ -1,8 +1,14 @@
 package com.rmoraes.minhasfinancas.service;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
+import com.rmoraes.minhasfinancas.api.dto.FiltroLancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.LancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.PaginaDTO;
+import com.rmoraes.minhasfinancas.api.dto.ResultadoLoteDTO;
+import com.rmoraes.minhasfinancas.api.dto.ResumoLancamentoDTO;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
 import com.rmoraes.minhasfinancas.model.entity.Lancamento;
 import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
 
@@ -10,18 +16,34 @@ public interface LancamentoService {
 
 	Lancamento salvar(Lancamento lancamento);
 	
+	ResultadoLoteDTO salvarEmLote(List<Lancamento> lancamentos);
+	
 	Lancamento atualizar(Lancamento lancamento);
 	
+	Lancamento atualizarParcialmente(Long id, LancamentoDTO alteracoes);
+	
 	void deletar(Lancamento lancamento);
 	
-	List<Lancamento> buscar(Lancamento lancamentoFiltro);
+	PaginaDTO<Lancamento> buscar(FiltroLancamentoDTO filtro, String cursor, Integer tamanho);
+	
+	List<Lancamento> pesquisar(Long idUsuario, String texto, Integer limite);
+	
+	List<ResumoLancamentoDTO> obterResumo(Long idUsuario, Integer ano, boolean saldoAcumulado);
 	
 	void atualizarStatus(Lancamento lancamento, StatusLancamento status);
 	
+	Lancamento atualizarStatus(Long id, StatusLancamento status);
+	
 	void validar(Lancamento lancamento);
 	
 	Lancamento obterPorId(Long id);
 	
-	BigDecimal obterSaldoPorUsuario(Long id);
+	boolean pertencemAoUsuario(Collection<Long> ids, Long idUsuario);
+	
+	Dinheiro obterSaldoPorUsuario(Long id);
+	
+	Dinheiro obterSaldoPorUsuarioEPeriodo(Long id, Integer ano, Integer mes);
+	
+	String obterVersaoDados(Long idUsuario);
 	
 }
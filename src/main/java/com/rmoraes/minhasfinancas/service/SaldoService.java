@@ -0,0 +1,28 @@
+package com.rmoraes.minhasfinancas.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.rmoraes.minhasfinancas.api.dto.DivergenciaSaldoDTO;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+import com.rmoraes.minhasfinancas.model.entity.Saldo;
+
+public interface SaldoService {
+
+	void somar(Saldo contribuicao);
+	
+	void subtrair(Saldo contribuicao);
+	
+	void substituir(Saldo contribuicaoAnterior, Saldo contribuicaoAtual);
+	
+	void somarEmLote(Collection<Saldo> contribuicoes);
+	
+	Dinheiro obterSaldoPorUsuario(Long idUsuario);
+	
+	Dinheiro obterSaldoPorUsuarioEPeriodo(Long idUsuario, Integer ano, Integer mes);
+	
+	List<DivergenciaSaldoDTO> verificar(Long idUsuario);
+	
+	void reconstruir(Long idUsuario);
+	
+}
@@ -0,0 +1,11 @@
+package com.rmoraes.minhasfinancas.service;
+
+public interface SenhaService {
+
+	String codificar(String senha);
+	
+	boolean confere(String senha, String hash);
+	
+	boolean precisaAtualizar(String hash);
+	
+}
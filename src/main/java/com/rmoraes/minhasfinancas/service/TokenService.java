@@ -0,0 +1,11 @@
+package com.rmoraes.minhasfinancas.service;
+
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+
+public interface TokenService {
+
+	String gerar(Usuario usuario);
+	
+	Long validar(String token);
+	
+}
@@ -12,4 +12,6 @@ public interface UsuarioService {
 	
 	Usuario obterPorId(Long id);
 	
+	Usuario obterReferencia(Long id);
+	
 }
@@ -0,0 +1,180 @@
+package com.rmoraes.minhasfinancas.service.impl;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rmoraes.minhasfinancas.config.CargaTrabalho;
+import com.rmoraes.minhasfinancas.exception.RegraNegocioException;
+import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
+import com.rmoraes.minhasfinancas.model.repository.LancamentoRepository;
+import com.rmoraes.minhasfinancas.service.AtualizacaoStatusService;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind das mudanças de status. As alterações entram numa fila limitada e uma única
+ * thread as grava em lotes: a cada {@code intervalo} ms ou {@code lote} itens, o que vier primeiro.
+ * Várias alterações do mesmo lançamento no lote se reduzem à última, e cada status vira um
+ * {@code UPDATE ... WHERE id IN (...)} restrito aos ids que existem; as alterações de ids
+ * inexistentes terminam com erro em vez de serem dadas como gravadas. Quando a fila está cheia, quem agenda espera até
+ * {@code espera} ms e depois recebe um erro, em vez de acumular trabalho sem limite.
+ */
+@Slf4j
+@Service
+public class AtualizacaoStatusServiceImpl implements AtualizacaoStatusService {
+	
+	private static final int MAXIMO_IDS_POR_COMANDO = 1000;
+	
+	private final LancamentoRepository repository;
+	private final VersoesUsuario versoesUsuario;
+	private final TransactionTemplate transacao;
+	private final BlockingQueue<Alteracao> fila;
+	private final int tamanhoLote;
+	private final long intervaloNanos;
+	private final long esperaMillis;
+	private volatile boolean ativo;
+	private Thread gravador;
+	
+	public AtualizacaoStatusServiceImpl(
+			final LancamentoRepository repository,
+			final VersoesUsuario versoesUsuario,
+			final PlatformTransactionManager transactionManager,
+			@Value("${minhasfinancas.lancamento.status.fila:10000}") final int capacidade,
+			@Value("${minhasfinancas.lancamento.status.lote:500}") final int tamanhoLote,
+			@Value("${minhasfinancas.lancamento.status.intervalo-ms:5}") final long intervaloMillis,
+			@Value("${minhasfinancas.lancamento.status.espera-ms:1000}") final long esperaMillis) {
+		this.repository = repository;
+		this.versoesUsuario = versoesUsuario;
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.fila = new LinkedBlockingQueue<>(capacidade);
+		this.tamanhoLote = tamanhoLote;
+		this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMillis);
+		this.esperaMillis = esperaMillis;
+	}
+	
+	@PostConstruct
+	public void iniciar() {
+		ativo = true;
+		gravador = new Thread(this::executar, "atualizacao-status");
+		gravador.setDaemon(true);
+		gravador.start();
+	}
+	
+	@PreDestroy
+	public void encerrar() throws InterruptedException {
+		ativo = false;
+		if(gravador != null) {
+			gravador.join(TimeUnit.SECONDS.toMillis(30));
+		}
+	}
+
+	@Override
+	public CompletableFuture<Void> agendar(final Long id, final StatusLancamento status) {
+		if(id == null || status == null) {
+			throw new RegraNegocioException("Informe o lançamento e o status.");
+		}
+		final Alteracao alteracao = new Alteracao(id, status, new CompletableFuture<>());
+		try {
+			if(!ativo || !fila.offer(alteracao, esperaMillis, TimeUnit.MILLISECONDS)) {
+				throw new RegraNegocioException("Fila de atualização de status cheia. Tente novamente.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RegraNegocioException("Atualização de status interrompida.");
+		}
+		return alteracao.concluida;
+	}
+	
+	private void executar() {
+		// a thread só grava lotes, então usa o pool de lote durante toda a sua vida
+		CargaTrabalho.iniciarLote();
+		while (ativo || !fila.isEmpty()) {
+			try {
+				final Alteracao primeira = fila.poll(100, TimeUnit.MILLISECONDS);
+				if(primeira == null) {
+					continue;
+				}
+				final List<Alteracao> lote = new ArrayList<>();
+				lote.add(primeira);
+				final long limite = System.nanoTime() + intervaloNanos;
+				while (lote.size() < tamanhoLote) {
+					final Alteracao proxima = fila.poll(limite - System.nanoTime(), TimeUnit.NANOSECONDS);
+					if(proxima == null) {
+						break;
+					}
+					lote.add(proxima);
+				}
+				gravar(lote);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+	
+	private void gravar(final List<Alteracao> lote) {
+		final Map<Long, StatusLancamento> ultimas = new LinkedHashMap<>();
+		lote.forEach(alteracao -> ultimas.put(alteracao.id, alteracao.status));
+		final Map<StatusLancamento, List<Long>> porStatus = new EnumMap<>(StatusLancamento.class);
+		ultimas.forEach((id, status) -> porStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(id));
+		final Set<Long> inexistentes = new HashSet<>();
+		
+		try {
+			transacao.execute(status -> {
+				inexistentes.clear();
+				porStatus.forEach((novoStatus, ids) -> {
+					for (int inicio = 0; inicio < ids.size(); inicio += MAXIMO_IDS_POR_COMANDO) {
+						final List<Long> parte = ids.subList(inicio, Math.min(inicio + MAXIMO_IDS_POR_COMANDO, ids.size()));
+						final List<Long> existentes = repository.obterExistentes(parte);
+						if(existentes.size() < parte.size()) {
+							final Set<Long> encontrados = new HashSet<>(existentes);
+							parte.stream().filter(id -> !encontrados.contains(id)).forEach(inexistentes::add);
+						}
+						if(!existentes.isEmpty()) {
+							repository.atualizarStatus(existentes, novoStatus);
+							repository.obterUsuarios(existentes).forEach(versoesUsuario::alterar);
+						}
+					}
+				});
+				return null;
+			});
+			lote.forEach(alteracao -> {
+				if(inexistentes.contains(alteracao.id)) {
+					alteracao.concluida.completeExceptionally(
+							new RegraNegocioException("Lançamento não encontrado para o id " + alteracao.id + "."));
+				} else {
+					alteracao.concluida.complete(null);
+				}
+			});
+		} catch (RuntimeException e) {
+			log.error("Falha ao gravar lote de {} alterações de status.", lote.size(), e);
+			lote.forEach(alteracao -> alteracao.concluida.completeExceptionally(e));
+		}
+	}
+	
+	@AllArgsConstructor
+	private static class Alteracao {
+		private final Long id;
+		private final StatusLancamento status;
+		private final CompletableFuture<Void> concluida;
+	}
+
+}
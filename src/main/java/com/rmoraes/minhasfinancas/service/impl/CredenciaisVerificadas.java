@@ -0,0 +1,74 @@
+package com.rmoraes.minhasfinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Cache de curta duração das credenciais já conferidas com bcrypt. Guarda um SHA-256 com sal
+ * aleatório da senha, nunca a senha, para que logins repetidos não paguem o hash adaptativo
+ * nem a consulta ao banco.
+ */
+@Component
+public class CredenciaisVerificadas {
+	
+	private static final SecureRandom ALEATORIO = new SecureRandom();
+	
+	private final Cache<String, Credencial> cache;
+	
+	public CredenciaisVerificadas(
+			@Value("${minhasfinancas.autenticacao.cache.segundos:300}") final long segundos,
+			@Value("${minhasfinancas.autenticacao.cache.tamanho:10000}") final long tamanho) {
+		this.cache = Caffeine.newBuilder()
+							 .expireAfterWrite(segundos, TimeUnit.SECONDS)
+							 .maximumSize(tamanho)
+							 .build();
+	}
+	
+	public Usuario obter(final String email, final String senha) {
+		final Credencial credencial = email == null || senha == null ? null : cache.getIfPresent(email);
+		if(credencial == null || !MessageDigest.isEqual(credencial.resumo, resumir(credencial.sal, senha))) {
+			return null;
+		}
+		return credencial.usuario;
+	}
+	
+	public void registrar(final Usuario usuario, final String senha) {
+		final byte[] sal = new byte[16];
+		ALEATORIO.nextBytes(sal);
+		cache.put(usuario.getEmail(), new Credencial(usuario, sal, resumir(sal, senha)));
+	}
+	
+	public void invalidar(final String email) {
+		cache.invalidate(email);
+	}
+	
+	private static byte[] resumir(final byte[] sal, final String senha) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(sal);
+			return digest.digest(senha.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	@AllArgsConstructor
+	private static class Credencial {
+		private final Usuario usuario;
+		private final byte[] sal;
+		private final byte[] resumo;
+	}
+
+}
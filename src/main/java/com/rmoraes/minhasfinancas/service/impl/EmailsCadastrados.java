@@ -0,0 +1,106 @@
+package com.rmoraes.minhasfinancas.service.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rmoraes.minhasfinancas.model.repository.UsuarioRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Filtro de Bloom dos emails cadastrados. Responde "com certeza não existe" sem ir ao banco;
+ * um "pode existir" ainda precisa ser confirmado com {@code existsByEmail}. Até o aquecimento
+ * terminar tudo "pode existir", e a constraint única de {@code usuario.email} continua sendo
+ * quem decide em caso de cadastros concorrentes.
+ */
+@Slf4j
+@Component
+public class EmailsCadastrados {
+	
+	private final UsuarioRepository repository;
+	private final TransactionTemplate transacao;
+	private final AtomicLongArray bits;
+	private final long tamanho;
+	private final int funcoes;
+	private volatile boolean aquecido;
+	
+	public EmailsCadastrados(
+			final UsuarioRepository repository,
+			final PlatformTransactionManager transactionManager,
+			@Value("${minhasfinancas.usuario.filtro-email.capacidade:1000000}") final long capacidade,
+			@Value("${minhasfinancas.usuario.filtro-email.falso-positivo:0.01}") final double falsoPositivo) {
+		this.repository = repository;
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.transacao.setReadOnly(true);
+		final long bitsNecessarios = (long) Math.ceil(-capacidade * Math.log(falsoPositivo) / (Math.log(2) * Math.log(2)));
+		this.bits = new AtomicLongArray((int) ((bitsNecessarios + 63) / 64));
+		this.tamanho = this.bits.length() * 64L;
+		this.funcoes = Math.max(1, (int) Math.round((double) tamanho / capacidade * Math.log(2)));
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void aquecer() {
+		try {
+			transacao.execute(status -> {
+				try (Stream<String> emails = repository.obterEmails()) {
+					emails.forEach(this::registrar);
+				}
+				return null;
+			});
+			aquecido = true;
+			log.info("Filtro de emails cadastrados aquecido.");
+		} catch (DataAccessException | TransactionException e) {
+			log.warn("Não foi possível aquecer o filtro de emails; todo email será verificado no banco.", e);
+		}
+	}
+	
+	public boolean podeExistir(final String email) {
+		if(!aquecido || email == null) {
+			return true;
+		}
+		final long[] posicoes = posicoes(email);
+		for (long posicao : posicoes) {
+			if((bits.get((int) (posicao >>> 6)) & (1L << posicao)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	public void registrar(final String email) {
+		if(email == null) {
+			return;
+		}
+		for (long posicao : posicoes(email)) {
+			final int indice = (int) (posicao >>> 6);
+			final long mascara = 1L << posicao;
+			long atual;
+			do {
+				atual = bits.get(indice);
+			} while ((atual & mascara) == 0 && !bits.compareAndSet(indice, atual, atual | mascara));
+		}
+	}
+	
+	private long[] posicoes(final String email) {
+		final long h1 = email.hashCode();
+		long h2 = 0xcbf29ce484222325L;
+		for (int i = 0; i < email.length(); i++) {
+			h2 = (h2 ^ email.charAt(i)) * 0x100000001b3L;
+		}
+		final long[] posicoes = new long[funcoes];
+		for (int i = 0; i < funcoes; i++) {
+			posicoes[i] = Math.floorMod(h1 + i * h2, tamanho);
+		}
+		return posicoes;
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.rmoraes.minhasfinancas.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rmoraes.minhasfinancas.config.CargaLote;
+import com.rmoraes.minhasfinancas.api.dto.FiltroLancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.LancamentoDTO;
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.enums.FormatoExportacao;
+import com.rmoraes.minhasfinancas.model.repository.LancamentoRepository;
+import com.rmoraes.minhasfinancas.service.ExportacaoLancamentoService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class ExportacaoLancamentoServiceImpl implements ExportacaoLancamentoService {
+	
+	private static final String SEPARADOR_CSV = ";";
+	private static final String CABECALHO_CSV = String.join(SEPARADOR_CSV, 
+			"id", "descricao", "mes", "ano", "valor", "tipo", "status", "data_cadastro");
+	
+	private final LancamentoRepository repository;
+	private final ObjectMapper objectMapper;
+
+	@Override
+	@CargaLote
+	@Transactional(readOnly = true)
+	public void exportar(final FiltroLancamentoDTO filtro, final FormatoExportacao formato, final OutputStream saida) throws IOException {
+		final Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+		if(formato == FormatoExportacao.CSV) {
+			escritor.write(CABECALHO_CSV);
+			escritor.write('\n');
+		}
+		
+		try (Stream<Lancamento> lancamentos = repository.exportar(filtro)) {
+			final Iterator<Lancamento> iterator = lancamentos.iterator();
+			while (iterator.hasNext()) {
+				final Lancamento lancamento = iterator.next();
+				escritor.write(formato == FormatoExportacao.CSV ? paraCsv(lancamento) : objectMapper.writeValueAsString(LancamentoDTO.de(lancamento)));
+				escritor.write('\n');
+				repository.desanexar(lancamento);
+			}
+		}
+		escritor.flush();
+	}
+	
+	private String paraCsv(final Lancamento lancamento) {
+		return String.join(SEPARADOR_CSV, 
+				valorCsv(lancamento.getId()),
+				valorCsv(lancamento.getDescricao()),
+				valorCsv(lancamento.getMes()),
+				valorCsv(lancamento.getAno()),
+				valorCsv(lancamento.getValor() != null ? lancamento.getValor().toString() : null),
+				valorCsv(lancamento.getTipo()),
+				valorCsv(lancamento.getStatus()),
+				valorCsv(lancamento.getDataCadastro()));
+	}
+	
+	private String valorCsv(final Object valor) {
+		if(valor == null) {
+			return "";
+		}
+		final String texto = valor.toString();
+		if(texto.contains(SEPARADOR_CSV) || texto.contains("\"") || texto.contains("\n") || texto.contains("\r")) {
+			return "\"" + texto.replace("\"", "\"\"") + "\"";
+		}
+		return texto;
+	}
+
+}
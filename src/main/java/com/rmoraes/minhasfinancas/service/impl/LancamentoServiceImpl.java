@@ -1,24 +1,46 @@
 package com.rmoraes.minhasfinancas.service.impl;
 
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import com.rmoraes.minhasfinancas.api.dto.FiltroLancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.LancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.ErroLoteDTO;
+import com.rmoraes.minhasfinancas.api.dto.PaginaDTO;
+import com.rmoraes.minhasfinancas.api.dto.ResultadoLoteDTO;
+import com.rmoraes.minhasfinancas.api.dto.ResumoLancamentoDTO;
+import com.rmoraes.minhasfinancas.config.CargaLote;
 import com.rmoraes.minhasfinancas.exception.RegraNegocioException;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
 import com.rmoraes.minhasfinancas.model.entity.Lancamento;
 import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
 import com.rmoraes.minhasfinancas.model.enums.TipoLancamento;
+import com.rmoraes.minhasfinancas.model.entity.Saldo;
 import com.rmoraes.minhasfinancas.model.repository.LancamentoRepository;
+import com.rmoraes.minhasfinancas.model.repository.PesquisaDescricao;
 import com.rmoraes.minhasfinancas.service.LancamentoService;
+import com.rmoraes.minhasfinancas.service.SaldoService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,7 +48,22 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LancamentoServiceImpl implements LancamentoService {
 	
+	private static final int TAMANHO_PAGINA_PADRAO = 50;
+	private static final int TAMANHO_PAGINA_MAXIMO = 500;
+	private static final int LIMITE_PESQUISA_PADRAO = 20;
+	private static final int LIMITE_PESQUISA_MAXIMO = 100;
+	
 	private final LancamentoRepository repository;
+	private final PesquisaDescricao pesquisaDescricao;
+	private final SaldoService saldoService;
+	private final VersoesUsuario versoesUsuario;
+	private final PlatformTransactionManager transactionManager;
+	
+	@Value("${minhasfinancas.lancamento.lote.tamanho:500}")
+	private int tamanhoLote;
+	
+	@Value("${minhasfinancas.lancamento.concorrencia.tentativas:3}")
+	private int tentativas;
 	
 	@Override
 	@Transactional
@@ -34,7 +71,34 @@ public class LancamentoServiceImpl implements LancamentoService {
 		validar(lancamento);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
 		lancamento.setDataCadastro(LocalDate.now());
-		return repository.save(lancamento);
+		final Lancamento lancamentoSalvo = repository.save(lancamento);
+		saldoService.somar(Saldo.de(lancamentoSalvo));
+		versoesUsuario.alterar(lancamentoSalvo.getUsuario().getId());
+		return lancamentoSalvo;
+	}
+
+	@Override
+	@CargaLote
+	public ResultadoLoteDTO salvarEmLote(final List<Lancamento> lancamentos) {
+		final ResultadoLoteDTO resultado = new ResultadoLoteDTO();
+		final List<Lancamento> validos = new ArrayList<>();
+		final List<Integer> indices = new ArrayList<>();
+		for (int i = 0; i < lancamentos.size(); i++) {
+			try {
+				validar(lancamentos.get(i));
+				validos.add(lancamentos.get(i));
+				indices.add(i);
+			} catch (RegraNegocioException e) {
+				resultado.adicionarErro(i, e.getMessage());
+			}
+		}
+		
+		for (int inicio = 0; inicio < validos.size(); inicio += tamanhoLote) {
+			final int fim = Math.min(inicio + tamanhoLote, validos.size());
+			salvarLote(validos.subList(inicio, fim), indices.subList(inicio, fim), resultado);
+		}
+		resultado.getErros().sort(Comparator.comparing(ErroLoteDTO::getIndice));
+		return resultado;
 	}
 
 	@Override
@@ -42,32 +106,155 @@ public class LancamentoServiceImpl implements LancamentoService {
 	public Lancamento atualizar(final Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
 		validar(lancamento);
-		return repository.save(lancamento);
+		final Optional<Saldo> contribuicaoAnterior = repository.obterContribuicaoParaSaldo(lancamento.getId());
+		final Lancamento lancamentoAtualizado = repository.save(lancamento);
+		final Saldo contribuicaoAtual = Saldo.de(lancamentoAtualizado);
+		if(contribuicaoAnterior.isPresent()) {
+			saldoService.substituir(contribuicaoAnterior.get(), contribuicaoAtual);
+			versoesUsuario.alterar(contribuicaoAnterior.get().getIdUsuario());
+		} else {
+			saldoService.somar(contribuicaoAtual);
+		}
+		versoesUsuario.alterar(contribuicaoAtual.getIdUsuario());
+		return lancamentoAtualizado;
+	}
+
+	@Override
+	@Transactional
+	public Lancamento atualizarParcialmente(final Long id, final LancamentoDTO alteracoes) {
+		final Lancamento lancamento = obterPorId(id);
+		if(alteracoes.getVersao() != null && !alteracoes.getVersao().equals(lancamento.getVersao())) {
+			throw new ObjectOptimisticLockingFailureException(Lancamento.class, id);
+		}
+		final Saldo contribuicaoAnterior = Saldo.de(lancamento);
+		if(alteracoes.getDescricao() != null) {
+			lancamento.setDescricao(alteracoes.getDescricao());
+		}
+		if(alteracoes.getMes() != null) {
+			lancamento.setMes(alteracoes.getMes());
+		}
+		if(alteracoes.getAno() != null) {
+			lancamento.setAno(alteracoes.getAno());
+		}
+		if(alteracoes.getValor() != null) {
+			lancamento.setValor(Dinheiro.de(alteracoes.getValor()));
+		}
+		if(alteracoes.getTipo() != null) {
+			lancamento.setTipo(TipoLancamento.valueOf(alteracoes.getTipo()));
+		}
+		if(alteracoes.getStatus() != null) {
+			lancamento.setStatus(StatusLancamento.valueOf(alteracoes.getStatus()));
+		}
+		validar(lancamento);
+		
+		final Saldo contribuicaoAtual = Saldo.de(lancamento);
+		if(!contribuicaoAtual.equals(contribuicaoAnterior)) {
+			saldoService.substituir(contribuicaoAnterior, contribuicaoAtual);
+		}
+		versoesUsuario.alterar(contribuicaoAtual.getIdUsuario());
+		return lancamento;
 	}
 
 	@Override
 	@Transactional
 	public void deletar(final Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
+		repository.obterContribuicaoParaSaldo(lancamento.getId()).ifPresent(contribuicao -> {
+			saldoService.subtrair(contribuicao);
+			versoesUsuario.alterar(contribuicao.getIdUsuario());
+		});
 		repository.delete(lancamento);
 	}
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<Lancamento> buscar(final Lancamento lancamentoFiltro) {
-		final Example<Lancamento> example = Example.of(lancamentoFiltro, 
-				ExampleMatcher.matching()
-							  .withIgnoreCase()
-							  .withStringMatcher(StringMatcher.CONTAINING));
-		return repository.findAll(example);
+	public PaginaDTO<Lancamento> buscar(final FiltroLancamentoDTO filtro, final String cursor, final Integer tamanho) {
+		if(filtro.getUsuario() == null) {
+			throw new RegraNegocioException("Informe um usuário.");
+		}
+		final int limite = tamanho == null ? TAMANHO_PAGINA_PADRAO : Math.min(Math.max(tamanho, 1), TAMANHO_PAGINA_MAXIMO);
+		final List<Lancamento> lancamentos = repository.buscar(filtro, decodificarCursor(cursor), limite + 1);
+		if(lancamentos.size() <= limite) {
+			return new PaginaDTO<>(lancamentos, null);
+		}
+		final List<Lancamento> pagina = new ArrayList<>(lancamentos.subList(0, limite));
+		return new PaginaDTO<>(pagina, codificarCursor(pagina.get(limite - 1).getId()));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Lancamento> pesquisar(final Long idUsuario, final String texto, final Integer limite) {
+		if(idUsuario == null) {
+			throw new RegraNegocioException("Informe um usuário.");
+		}
+		if(PesquisaDescricao.termos(texto).isEmpty()) {
+			throw new RegraNegocioException("Informe um texto para pesquisa.");
+		}
+		final int limitePesquisa = limite == null ? LIMITE_PESQUISA_PADRAO : Math.min(Math.max(limite, 1), LIMITE_PESQUISA_MAXIMO);
+		
+		// o motor devolve os ids por relevância; findAllById não garante a ordem
+		final List<Long> ids = pesquisaDescricao.pesquisar(idUsuario, texto, limitePesquisa);
+		final Map<Long, Integer> posicoes = new HashMap<>();
+		for (int i = 0; i < ids.size(); i++) {
+			posicoes.put(ids.get(i), i);
+		}
+		final List<Lancamento> lancamentos = new ArrayList<>(repository.findAllById(ids));
+		lancamentos.sort(Comparator.comparing(lancamento -> posicoes.get(lancamento.getId())));
+		return lancamentos;
+	}
+
+	@Override
+	@CargaLote
+	@Transactional(readOnly = true)
+	public List<ResumoLancamentoDTO> obterResumo(final Long idUsuario, final Integer ano, final boolean saldoAcumulado) {
+		if(idUsuario == null) {
+			throw new RegraNegocioException("Informe um usuário.");
+		}
+		final List<ResumoLancamentoDTO> resumo = ano != null 
+				? repository.obterResumoPorUsuarioEAno(idUsuario, ano) 
+				: repository.obterResumoPorUsuario(idUsuario);
+		if(saldoAcumulado) {
+			long centavos = 0L;
+			for (ResumoLancamentoDTO linha : resumo) {
+				centavos = TipoLancamento.RECEITA.equals(linha.getTipo()) 
+						? Dinheiro.somarCentavos(centavos, linha.getTotal().getCentavos()) 
+						: Dinheiro.subtrairCentavos(centavos, linha.getTotal().getCentavos());
+				linha.setSaldoAcumulado(Dinheiro.deCentavos(centavos));
+			}
+		}
+		return resumo;
 	}
 
 	@Override
+	@Transactional
 	public void atualizarStatus(final Lancamento lancamento, final StatusLancamento status) {
 		lancamento.setStatus(status);
 		atualizar(lancamento);
 	}
 	
+	@Override
+	public Lancamento atualizarStatus(final Long id, final StatusLancamento status) {
+		// trocar o status não depende dos outros campos nem mexe no saldo, então um conflito
+		// de versão só exige reler o lançamento e aplicar de novo, cada tentativa na sua transação
+		final TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+		for (int tentativa = 1; ; tentativa++) {
+			try {
+				return transacao.execute(estado -> {
+					final Lancamento lancamento = obterPorId(id);
+					lancamento.setStatus(status);
+					repository.flush();
+					versoesUsuario.alterar(lancamento.getUsuario().getId());
+					return lancamento;
+				});
+			} catch (OptimisticLockingFailureException e) {
+				if(tentativa >= tentativas) {
+					throw e;
+				}
+				aguardarNovaTentativa(tentativa);
+			}
+		}
+	}
+	
 	@Override
 	public Lancamento obterPorId(final Long id) {
 		final Optional<Lancamento> lancamento = repository.findById(id);
@@ -79,21 +266,30 @@ public class LancamentoServiceImpl implements LancamentoService {
 
 	@Override
 	@Transactional(readOnly = true)
-	public BigDecimal obterSaldoPorUsuario(Long id) {
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.RECEITA);
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.DESPESA);
-		if(receitas == null) {
-			receitas = BigDecimal.ZERO;
-		}
-		if(despesas == null) {
-			despesas = BigDecimal.ZERO;
-		}
-		return receitas.subtract(despesas);
+	public boolean pertencemAoUsuario(final Collection<Long> ids, final Long idUsuario) {
+		return ids.isEmpty() || repository.obterUsuarios(ids).stream().allMatch(idUsuario::equals);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Dinheiro obterSaldoPorUsuario(final Long id) {
+		return saldoService.obterSaldoPorUsuario(id);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Dinheiro obterSaldoPorUsuarioEPeriodo(final Long id, final Integer ano, final Integer mes) {
+		return saldoService.obterSaldoPorUsuarioEPeriodo(id, ano, mes);
+	}
+
+	@Override
+	public String obterVersaoDados(final Long idUsuario) {
+		return versoesUsuario.obter(idUsuario);
 	}
 
 	@Override
 	public void validar(final Lancamento lancamento) {
-		if(StringUtils.isEmpty(lancamento.getDescricao())) {
+		if(!StringUtils.hasLength(lancamento.getDescricao())) {
 			throw new RegraNegocioException("Informe uma descrição válida.");
 		}
 		
@@ -109,7 +305,7 @@ public class LancamentoServiceImpl implements LancamentoService {
 			throw new RegraNegocioException("Informe um usuário.");
 		}
 		
-		if(lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO) < 1) {
+		if(lancamento.getValor() == null || !lancamento.getValor().isPositivo()) {
 			throw new RegraNegocioException("Informe um valor válido.");
 		}
 		
@@ -118,4 +314,68 @@ public class LancamentoServiceImpl implements LancamentoService {
 		}
 	}
 
+	
+	private void aguardarNovaTentativa(final int tentativa) {
+		// espera aleatória e crescente para que os concorrentes não colidam de novo
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L * tentativa + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RegraNegocioException("Atualização de status interrompida.");
+		}
+	}
+	
+	private String codificarCursor(final Long id) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+	}
+	
+	private Long decodificarCursor(final String cursor) {
+		if(!StringUtils.hasLength(cursor)) {
+			return null;
+		}
+		try {
+			return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+		} catch (IllegalArgumentException e) {
+			throw new RegraNegocioException("Cursor inválido.");
+		}
+	}
+
+	
+	private void salvarLote(final List<Lancamento> lote, final List<Integer> indices, final ResultadoLoteDTO resultado) {
+		final TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+		try {
+			transacao.execute(status -> inserir(lote));
+			resultado.setSalvos(resultado.getSalvos() + lote.size());
+		} catch (RuntimeException e) {
+			for (int i = 0; i < lote.size(); i++) {
+				final List<Lancamento> unitario = Collections.singletonList(lote.get(i));
+				try {
+					transacao.execute(status -> inserir(unitario));
+					resultado.setSalvos(resultado.getSalvos() + 1);
+				} catch (RuntimeException erro) {
+					resultado.adicionarErro(indices.get(i), "Não foi possível salvar o lançamento.");
+				}
+			}
+		} finally {
+			lote.forEach(repository::desanexar);
+		}
+	}
+	
+	private List<Lancamento> inserir(final List<Lancamento> lote) {
+		final LocalDate dataCadastro = LocalDate.now();
+		lote.forEach(lancamento -> {
+			lancamento.setId(null);
+			lancamento.setVersao(null);
+			lancamento.setStatus(StatusLancamento.PENDENTE);
+			lancamento.setDataCadastro(dataCadastro);
+		});
+		final List<Lancamento> salvos = repository.saveAll(lote);
+		repository.flush();
+		
+		final List<Saldo> contribuicoes = salvos.stream().map(Saldo::de).collect(Collectors.toList());
+		saldoService.somarEmLote(contribuicoes);
+		contribuicoes.stream().map(Saldo::getIdUsuario).distinct().forEach(versoesUsuario::alterar);
+		return salvos;
+	}
+
 }
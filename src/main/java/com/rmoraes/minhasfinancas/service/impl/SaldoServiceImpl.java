@@ -0,0 +1,147 @@
+package com.rmoraes.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rmoraes.minhasfinancas.api.dto.DivergenciaSaldoDTO;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+import com.rmoraes.minhasfinancas.model.entity.Saldo;
+import com.rmoraes.minhasfinancas.model.repository.LancamentoRepository;
+import com.rmoraes.minhasfinancas.model.repository.SaldoRepository;
+import com.rmoraes.minhasfinancas.model.repository.UsuarioRepository;
+import com.rmoraes.minhasfinancas.service.SaldoService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class SaldoServiceImpl implements SaldoService {
+	
+	// cada período alterado fica travado até o commit; travar sempre na mesma ordem evita deadlock
+	// entre transações que movem lançamentos entre os mesmos meses em sentidos opostos
+	private static final Comparator<Saldo> ORDEM_PERIODO = Comparator.comparing(Saldo::getIdUsuario)
+																	 .thenComparing(Saldo::getAno)
+																	 .thenComparing(Saldo::getMes);
+	
+	private final SaldoRepository repository;
+	private final LancamentoRepository lancamentoRepository;
+	private final UsuarioRepository usuarioRepository;
+	private final VersoesUsuario versoesUsuario;
+
+	@Override
+	@Transactional
+	public void somar(final Saldo contribuicao) {
+		aplicar(List.of(contribuicao));
+	}
+
+	@Override
+	@Transactional
+	public void subtrair(final Saldo contribuicao) {
+		aplicar(List.of(contribuicao.negar()));
+	}
+
+	@Override
+	@Transactional
+	public void substituir(final Saldo contribuicaoAnterior, final Saldo contribuicaoAtual) {
+		aplicar(List.of(contribuicaoAnterior.negar(), contribuicaoAtual));
+	}
+
+	@Override
+	@Transactional
+	public void somarEmLote(final Collection<Saldo> contribuicoes) {
+		aplicar(contribuicoes);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Dinheiro obterSaldoPorUsuario(final Long idUsuario) {
+		final BigDecimal saldo = repository.obterSaldoPorUsuario(idUsuario);
+		return saldo != null ? Dinheiro.de(saldo) : Dinheiro.ZERO;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Dinheiro obterSaldoPorUsuarioEPeriodo(final Long idUsuario, final Integer ano, final Integer mes) {
+		final BigDecimal saldo = mes != null
+				? repository.obterSaldoPorUsuarioEPeriodo(idUsuario, ano, mes)
+				: repository.obterSaldoPorUsuarioEAno(idUsuario, ano);
+		return saldo != null ? Dinheiro.de(saldo) : Dinheiro.ZERO;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<DivergenciaSaldoDTO> verificar(final Long idUsuario) {
+		final Map<Integer, Saldo> armazenados = new HashMap<>();
+		repository.findByIdUsuario(idUsuario).forEach(saldo -> armazenados.put(chave(saldo), saldo));
+		
+		final List<DivergenciaSaldoDTO> divergencias = new ArrayList<>();
+		for (Saldo calculado : lancamentoRepository.calcularSaldosPorUsuario(idUsuario)) {
+			final Saldo armazenado = armazenados.remove(chave(calculado));
+			if(armazenado == null || divergente(armazenado, calculado)) {
+				divergencias.add(criarDivergencia(calculado, armazenado, calculado));
+			}
+		}
+		for (Saldo armazenado : armazenados.values()) {
+			if(!armazenado.getReceitas().isZero() || !armazenado.getDespesas().isZero()) {
+				divergencias.add(criarDivergencia(armazenado, armazenado, null));
+			}
+		}
+		return divergencias;
+	}
+
+	@Override
+	@Transactional
+	public void reconstruir(final Long idUsuario) {
+		// espera as alterações em curso e segura as novas até o commit: sem isso, um delta gravado
+		// entre o delete e o insert se perderia
+		usuarioRepository.bloquearParaReconstruirSaldo(idUsuario);
+		repository.deletarPorUsuario(idUsuario);
+		repository.flush();
+		repository.saveAll(lancamentoRepository.calcularSaldosPorUsuario(idUsuario));
+		versoesUsuario.alterar(idUsuario);
+	}
+	
+	private void aplicar(final Collection<Saldo> contribuicoes) {
+		final Map<Saldo, Saldo> porPeriodo = new TreeMap<>(ORDEM_PERIODO);
+		contribuicoes.forEach(contribuicao -> porPeriodo.merge(contribuicao, contribuicao, Saldo::somar));
+		if(porPeriodo.isEmpty()) {
+			return;
+		}
+		usuarioRepository.bloquearParaAlterarSaldo(
+				porPeriodo.keySet().stream().map(Saldo::getIdUsuario).collect(Collectors.toCollection(TreeSet::new)));
+		porPeriodo.values().stream()
+				  .filter(variacao -> !variacao.getReceitas().isZero() || !variacao.getDespesas().isZero())
+				  .forEach(repository::acumular);
+	}
+	
+	private Integer chave(final Saldo saldo) {
+		return saldo.getAno() * 100 + saldo.getMes();
+	}
+	
+	private boolean divergente(final Saldo armazenado, final Saldo calculado) {
+		return !armazenado.getReceitas().equals(calculado.getReceitas()) 
+				|| !armazenado.getDespesas().equals(calculado.getDespesas());
+	}
+	
+	private DivergenciaSaldoDTO criarDivergencia(final Saldo periodo, final Saldo armazenado, final Saldo calculado) {
+		return DivergenciaSaldoDTO.builder()
+								  .usuario(periodo.getIdUsuario())
+								  .ano(periodo.getAno())
+								  .mes(periodo.getMes())
+								  .saldoArmazenado(armazenado != null ? armazenado.calcularSaldo() : null)
+								  .saldoCalculado(calculado != null ? calculado.calcularSaldo() : null)
+								  .build();
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.rmoraes.minhasfinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.rmoraes.minhasfinancas.exception.AutenticacaoException;
+import com.rmoraes.minhasfinancas.service.SenhaService;
+
+/**
+ * Hash de senhas com bcrypt. O cálculo é caro por definição, então roda num pool próprio
+ * e limitado: sob pico de logins as requisições excedentes falham rápido em vez de ocupar
+ * as threads do servidor e a CPU disputada pelo resto da API.
+ */
+@Service
+public class SenhaServiceImpl implements SenhaService {
+	
+	private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+	
+	private final BCryptPasswordEncoder encoder;
+	private final ThreadPoolExecutor executor;
+	private final long tempoMaximoMillis;
+	
+	public SenhaServiceImpl(
+			@Value("${minhasfinancas.autenticacao.bcrypt.custo:10}") final int custo,
+			@Value("${minhasfinancas.autenticacao.hash.threads:0}") final int threads,
+			@Value("${minhasfinancas.autenticacao.hash.fila:64}") final int fila,
+			@Value("${minhasfinancas.autenticacao.hash.tempo-maximo-ms:5000}") final long tempoMaximoMillis) {
+		final int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		this.encoder = new BCryptPasswordEncoder(custo);
+		this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0, TimeUnit.MILLISECONDS, 
+											   new ArrayBlockingQueue<>(fila), new CustomizableThreadFactory("hash-senha-"));
+		this.tempoMaximoMillis = tempoMaximoMillis;
+	}
+	
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+
+	@Override
+	public String codificar(final String senha) {
+		return executar(() -> encoder.encode(senha));
+	}
+
+	@Override
+	public boolean confere(final String senha, final String hash) {
+		if(senha == null || hash == null) {
+			return false;
+		}
+		if(precisaAtualizar(hash)) {
+			return MessageDigest.isEqual(senha.getBytes(StandardCharsets.UTF_8), hash.getBytes(StandardCharsets.UTF_8));
+		}
+		return executar(() -> encoder.matches(senha, hash));
+	}
+
+	@Override
+	public boolean precisaAtualizar(final String hash) {
+		return hash != null && !BCRYPT.matcher(hash).matches();
+	}
+	
+	private <T> T executar(final Callable<T> calculo) {
+		final Future<T> resultado;
+		try {
+			resultado = executor.submit(calculo);
+		} catch (RejectedExecutionException e) {
+			throw new AutenticacaoException("Serviço de autenticação sobrecarregado. Tente novamente.");
+		}
+		try {
+			return resultado.get(tempoMaximoMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			resultado.cancel(true);
+			throw new AutenticacaoException("Serviço de autenticação sobrecarregado. Tente novamente.");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AutenticacaoException("Autenticação interrompida.");
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.rmoraes.minhasfinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.rmoraes.minhasfinancas.exception.AutenticacaoException;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.service.TokenService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token stateless no formato {@code base64url(idUsuario:expiracao).base64url(HMAC-SHA256)}.
+ * Validar um token não consulta o banco nem recalcula o hash da senha.
+ */
+@Slf4j
+@Service
+public class TokenServiceImpl implements TokenService {
+	
+	private static final String ALGORITMO = "HmacSHA256";
+	
+	private final SecretKeySpec chave;
+	private final long validadeSegundos;
+	private final Clock relogio;
+	
+	@Autowired
+	public TokenServiceImpl(
+			@Value("${minhasfinancas.autenticacao.token.segredo:}") final String segredo,
+			@Value("${minhasfinancas.autenticacao.token.validade-segundos:3600}") final long validadeSegundos) {
+		this(segredo, validadeSegundos, Clock.systemUTC());
+	}
+	
+	public TokenServiceImpl(final String segredo, final long validadeSegundos, final Clock relogio) {
+		this.chave = new SecretKeySpec(obterSegredo(segredo), ALGORITMO);
+		this.validadeSegundos = validadeSegundos;
+		this.relogio = relogio;
+	}
+
+	@Override
+	public String gerar(final Usuario usuario) {
+		final long expiracao = relogio.instant().getEpochSecond() + validadeSegundos;
+		final byte[] conteudo = (usuario.getId() + ":" + expiracao).getBytes(StandardCharsets.UTF_8);
+		final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		return encoder.encodeToString(conteudo) + "." + encoder.encodeToString(assinar(conteudo));
+	}
+
+	@Override
+	public Long validar(final String token) {
+		final int separador = token == null ? -1 : token.indexOf('.');
+		if(separador < 0) {
+			throw new AutenticacaoException("Token inválido.");
+		}
+		final byte[] conteudo;
+		final byte[] assinatura;
+		try {
+			conteudo = Base64.getUrlDecoder().decode(token.substring(0, separador));
+			assinatura = Base64.getUrlDecoder().decode(token.substring(separador + 1));
+		} catch (IllegalArgumentException e) {
+			throw new AutenticacaoException("Token inválido.");
+		}
+		if(!MessageDigest.isEqual(assinar(conteudo), assinatura)) {
+			throw new AutenticacaoException("Token inválido.");
+		}
+		
+		final String[] partes = new String(conteudo, StandardCharsets.UTF_8).split(":");
+		if(Long.parseLong(partes[1]) < relogio.instant().getEpochSecond()) {
+			throw new AutenticacaoException("Token expirado.");
+		}
+		return Long.valueOf(partes[0]);
+	}
+	
+	private byte[] assinar(final byte[] conteudo) {
+		try {
+			final Mac mac = Mac.getInstance(ALGORITMO);
+			mac.init(chave);
+			return mac.doFinal(conteudo);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private static byte[] obterSegredo(final String segredo) {
+		if(StringUtils.hasText(segredo)) {
+			return segredo.getBytes(StandardCharsets.UTF_8);
+		}
+		log.warn("minhasfinancas.autenticacao.token.segredo não configurado: usando um segredo aleatório. "
+				+ "Os tokens deixam de valer ao reiniciar e não são aceitos por outras instâncias.");
+		final byte[] aleatorio = new byte[32];
+		new SecureRandom().nextBytes(aleatorio);
+		return aleatorio;
+	}
+
+}
@@ -2,7 +2,10 @@ package com.rmoraes.minhasfinancas.service.impl;
 
 import java.time.LocalDate;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +13,7 @@ import com.rmoraes.minhasfinancas.exception.AutenticacaoException;
 import com.rmoraes.minhasfinancas.exception.RegraNegocioException;
 import com.rmoraes.minhasfinancas.model.entity.Usuario;
 import com.rmoraes.minhasfinancas.model.repository.UsuarioRepository;
+import com.rmoraes.minhasfinancas.service.SenhaService;
 import com.rmoraes.minhasfinancas.service.UsuarioService;
 
 import lombok.RequiredArgsConstructor;
@@ -18,13 +22,29 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UsuarioServiceImpl implements UsuarioService {
 	
+	private static final int LIMITE_USUARIOS_VERIFICADOS = 100_000;
+	
 	private final UsuarioRepository repository;
+	private final SenhaService senhaService;
+	private final CredenciaisVerificadas credenciaisVerificadas;
+	private final EmailsCadastrados emailsCadastrados;
+	private final VersoesUsuario versoesUsuario;
+	private final Set<Long> usuariosVerificados = ConcurrentHashMap.newKeySet();
 
 	@Override
-	@Transactional(readOnly = true)
 	public Usuario autenticar(final String email, final String senha) {
+		final Usuario verificado = credenciaisVerificadas.obter(email, senha);
+		if(verificado != null) {
+			return verificado;
+		}
+		
 		Optional<Usuario> usuario = repository.findByEmail(email);
 		validarUsuario(usuario, senha);
+		if(senhaService.precisaAtualizar(usuario.get().getSenha())) {
+			usuario.get().setSenha(senhaService.codificar(senha));
+			repository.save(usuario.get());
+		}
+		credenciaisVerificadas.registrar(usuario.get(), senha);
 		return usuario.get();
 	}
 
@@ -32,8 +52,18 @@ public class UsuarioServiceImpl implements UsuarioService {
 	@Transactional
 	public Usuario salvar(final Usuario usuario) {
 		validarEmail(usuario.getEmail());
+		usuario.setSenha(senhaService.codificar(usuario.getSenha()));
 		usuario.setDataCadastro(LocalDate.now());
-		return repository.save(usuario);
+		final Usuario usuarioSalvo;
+		try {
+			usuarioSalvo = repository.save(usuario);
+		} catch (DataIntegrityViolationException e) {
+			throw new RegraNegocioException("Já existe um usuário cadasrado com este email.");
+		}
+		versoesUsuario.criar(usuarioSalvo.getId());
+		emailsCadastrados.registrar(usuarioSalvo.getEmail());
+		registrarVerificado(usuarioSalvo.getId());
+		return usuarioSalvo;
 	}
 	
 	@Override
@@ -46,13 +76,38 @@ public class UsuarioServiceImpl implements UsuarioService {
 		return usuario.get();
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public Usuario obterReferencia(final Long id) {
+		if(id == null) {
+			throw new RegraNegocioException("Informe um usuário.");
+		}
+		if(!usuariosVerificados.contains(id)) {
+			if(!repository.existsById(id)) {
+				throw new RegraNegocioException("Usuário não encontrado para o id informado.");
+			}
+			registrarVerificado(id);
+		}
+		return repository.getReferenceById(id);
+	}
+
 	@Override
 	public void validarEmail(final String email) {
-		if(repository.existsByEmail(email)) {
+		if(emailsCadastrados.podeExistir(email) && repository.existsByEmail(email)) {
 			throw new RegraNegocioException("Já existe um usuário cadasrado com este email.");
 		}
 	}
 	
+	private void registrarVerificado(final Long id) {
+		if(id == null) {
+			return;
+		}
+		if(usuariosVerificados.size() >= LIMITE_USUARIOS_VERIFICADOS) {
+			usuariosVerificados.clear();
+		}
+		usuariosVerificados.add(id);
+	}
+	
 	private void validarUsuario(Optional<Usuario> usuario, final String senha) {
 		validarEmail(usuario);
 		validarSenha(usuario, senha);
@@ -65,7 +120,7 @@ public class UsuarioServiceImpl implements UsuarioService {
 	}
 
 	private void validarSenha(Optional<Usuario> usuario, final String senha) {
-		if(!usuario.get().getSenha().equals(senha)) {
+		if(!senhaService.confere(senha, usuario.get().getSenha())) {
 			throw new AutenticacaoException("Senha inválida.");
 		}
 	}
@@ -0,0 +1,73 @@
+package com.rmoraes.minhasfinancas.service.impl;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.rmoraes.minhasfinancas.model.entity.VersaoDadosUsuario;
+import com.rmoraes.minhasfinancas.model.repository.VersaoDadosUsuarioRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Versão dos dados de cada usuário, usada como ETag forte do saldo e das buscas de lançamentos para
+ * responder {@code 304} com uma leitura pela chave em vez da consulta inteira. A versão fica na tabela
+ * {@code versao_dados_usuario} e é incrementada na mesma transação que altera os dados, então vale para
+ * todas as instâncias e só é vista depois do commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class VersoesUsuario {
+
+	private final VersaoDadosUsuarioRepository repository;
+
+	public String obter(final Long idUsuario) {
+		return idUsuario + "-" + Long.toHexString(repository.obterVersao(idUsuario).orElse(0l));
+	}
+
+	public void criar(final Long idUsuario) {
+		repository.save(new VersaoDadosUsuario(idUsuario, 0l));
+	}
+
+	public void alterar(final Long idUsuario) {
+		if(idUsuario == null) {
+			return;
+		}
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			repository.incrementar(idUsuario);
+			return;
+		}
+		final Incrementos incrementos = TransactionSynchronizationManager.getSynchronizations().stream()
+				.filter(Incrementos.class::isInstance)
+				.map(Incrementos.class::cast)
+				.filter(registrado -> registrado.repository == repository)
+				.findFirst()
+				.orElseGet(() -> {
+					final Incrementos novo = new Incrementos(repository);
+					TransactionSynchronizationManager.registerSynchronization(novo);
+					return novo;
+				});
+		incrementos.usuarios.add(idUsuario);
+	}
+
+	/*
+	 * Os incrementos ficam para o fim da transação, uma vez por usuário e em ordem de id: a linha da versão
+	 * fica travada só até o commit, depois das travas de saldo, e duas transações não se bloqueiam em cruz.
+	 */
+	@RequiredArgsConstructor
+	private static class Incrementos implements TransactionSynchronization {
+
+		private final VersaoDadosUsuarioRepository repository;
+		private final Set<Long> usuarios = new TreeSet<>();
+
+		@Override
+		public void beforeCommit(final boolean readOnly) {
+			usuarios.forEach(repository::incrementar);
+		}
+
+	}
+
+}
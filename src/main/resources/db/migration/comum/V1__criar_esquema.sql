@@ -0,0 +1,24 @@
+-- Esquema original, anterior às migrações. Bancos já existentes entram direto na versão 1
+-- (spring.flyway.baseline-on-migrate) e recebem só as migrações seguintes.
+
+create table financas.usuario (
+	id bigint generated by default as identity primary key,
+	nome varchar(150),
+	email varchar(100),
+	senha varchar(20),
+	data_cadastro date
+);
+
+create sequence financas.lancamento_id_seq start with 1 increment by 1;
+
+create table financas.lancamento (
+	id bigint not null primary key,
+	descricao varchar(100),
+	mes integer,
+	ano integer not null,
+	valor numeric(16,2),
+	data_cadastro date,
+	tipo varchar(20),
+	status varchar(20),
+	id_usuario bigint references financas.usuario (id)
+);
@@ -0,0 +1,18 @@
+-- Alinha o banco ao mapeamento atual: hash bcrypt da senha, email único, sequência de
+-- lancamento com o mesmo allocationSize do Hibernate e a tabela de saldos mensais.
+
+alter table financas.usuario alter column senha set data type varchar(100);
+
+alter table financas.usuario add constraint uk_usuario_email unique (email);
+
+alter sequence financas.lancamento_id_seq increment by 50;
+
+create table if not exists financas.saldo (
+	id bigint generated by default as identity primary key,
+	id_usuario bigint not null,
+	ano integer not null,
+	mes integer not null,
+	receitas numeric(16,2) not null,
+	despesas numeric(16,2) not null,
+	constraint uk_saldo_usuario_ano_mes unique (id_usuario, ano, mes)
+);
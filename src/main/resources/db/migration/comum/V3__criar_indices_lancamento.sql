@@ -0,0 +1,11 @@
+-- Índices das consultas quentes de lancamento. Todos começam por id_usuario, então também
+-- atendem a chave estrangeira para usuario.
+
+-- busca paginada e exportação filtradas por ano/mês, ordenadas por id (keyset)
+create index if not exists idx_lancamento_usuario_ano_mes on financas.lancamento (id_usuario, ano, mes, id);
+
+-- busca filtrada por tipo/status
+create index if not exists idx_lancamento_usuario_tipo_status on financas.lancamento (id_usuario, tipo, status, id);
+
+-- soma por tipo (obterSaldoPorTipoLancamentoEUsuario) resolvida só com o índice
+create index if not exists idx_lancamento_usuario_tipo_valor on financas.lancamento (id_usuario, tipo, valor);
@@ -0,0 +1,4 @@
+-- Versão para o lock otimista de lancamento (@Version). Cada alteração incrementa a coluna,
+-- e a API a expõe como ETag para o If-Match.
+
+alter table financas.lancamento add column versao bigint default 0 not null;
@@ -0,0 +1,4 @@
+-- O saldo passou a vir da tabela financas.saldo e a soma por tipo sobre lancamento deixou de
+-- existir; o índice que a atendia só encarecia cada escrita.
+
+drop index if exists financas.idx_lancamento_usuario_tipo_valor;
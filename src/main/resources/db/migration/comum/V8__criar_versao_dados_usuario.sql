@@ -0,0 +1,10 @@
+-- Versão dos dados de cada usuário (saldo e lançamentos), usada como ETag. Fica no banco para que
+-- todas as instâncias respondam 304 pelo mesmo valor, e fora de usuario para que o incremento não
+-- dispute a trava compartilhada que as alterações de saldo tomam sobre o usuário.
+
+create table financas.versao_dados_usuario (
+	id_usuario bigint not null primary key references financas.usuario (id),
+	versao bigint default 0 not null
+);
+
+insert into financas.versao_dados_usuario (id_usuario, versao) select id, 0 from financas.usuario;
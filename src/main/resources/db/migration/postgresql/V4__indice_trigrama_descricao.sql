@@ -0,0 +1,7 @@
+-- A busca por descrição é "lower(descricao) like '%texto%'", que nenhum b-tree atende.
+-- O índice GIN de trigramas sobre lower(descricao) atende esse like em qualquer posição.
+
+create extension if not exists pg_trgm schema public;
+
+create index if not exists idx_lancamento_descricao_trgm
+	on financas.lancamento using gin (lower(descricao) public.gin_trgm_ops);
@@ -0,0 +1,12 @@
+-- Pesquisa textual em português, sem acento, sobre a descrição. O unaccent não é imutável
+-- (depende do dicionário em uso), então o índice usa um invólucro que fixa o dicionário.
+-- A consulta em PesquisaDescricaoPostgreSQL repete exatamente esta expressão.
+
+create extension if not exists unaccent schema public;
+
+create or replace function financas.sem_acento(texto text) returns text
+	language sql immutable strict parallel safe
+	as $$ select public.unaccent('public.unaccent'::regdictionary, texto) $$;
+
+create index if not exists idx_lancamento_descricao_texto
+	on financas.lancamento using gin (to_tsvector('portuguese'::regconfig, financas.sem_acento(descricao)));
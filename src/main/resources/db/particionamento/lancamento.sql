@@ -0,0 +1,48 @@
+-- Converte financas.lancamento numa tabela particionada por lista de ano (PostgreSQL 12+).
+-- Executar uma vez, depois das migrações de db/migration, numa janela sem escrita. Depois disso,
+-- o ParticionamentoLancamentoJob cria as partições dos próximos anos e move para elas o que tiver
+-- caído na partição padrão.
+
+begin;
+
+alter table financas.lancamento rename to lancamento_legado;
+alter index if exists financas.lancamento_pkey rename to lancamento_legado_pkey;
+alter index if exists financas.idx_lancamento_usuario_ano_mes rename to idx_lancamento_legado_usuario_ano_mes;
+alter index if exists financas.idx_lancamento_usuario_tipo_status rename to idx_lancamento_legado_usuario_tipo_status;
+alter index if exists financas.idx_lancamento_descricao_trgm rename to idx_lancamento_legado_descricao_trgm;
+alter index if exists financas.idx_lancamento_descricao_texto rename to idx_lancamento_legado_descricao_texto;
+
+create table financas.lancamento (
+	like financas.lancamento_legado including defaults including constraints
+) partition by list (ano);
+
+alter table financas.lancamento alter column ano set not null;
+-- a chave primária de uma tabela particionada precisa conter a chave de partição;
+-- o id continua único porque vem de financas.lancamento_id_seq
+alter table financas.lancamento add constraint lancamento_pkey primary key (id, ano);
+alter table financas.lancamento add constraint lancamento_id_usuario_fkey foreign key (id_usuario) references financas.usuario (id);
+
+create index idx_lancamento_usuario_ano_mes on financas.lancamento (id_usuario, ano, mes, id);
+create index idx_lancamento_usuario_tipo_status on financas.lancamento (id_usuario, tipo, status, id);
+create index idx_lancamento_descricao_trgm on financas.lancamento using gin (lower(descricao) public.gin_trgm_ops);
+create index idx_lancamento_descricao_texto on financas.lancamento using gin (to_tsvector('portuguese'::regconfig, financas.sem_acento(descricao)));
+create index idx_lancamento_id on financas.lancamento (id);
+
+create table financas.lancamento_padrao partition of financas.lancamento default;
+
+do $$
+declare
+	v_ano integer;
+begin
+	for v_ano in select distinct ano from financas.lancamento_legado where ano is not null order by ano loop
+		execute format('create table financas.lancamento_%s partition of financas.lancamento for values in (%s)', v_ano, v_ano);
+	end loop;
+end $$;
+
+insert into financas.lancamento select * from financas.lancamento_legado;
+
+drop table financas.lancamento_legado;
+
+commit;
+
+analyze financas.lancamento;
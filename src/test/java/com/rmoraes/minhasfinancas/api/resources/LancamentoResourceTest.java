@@ -0,0 +1,310 @@
+package com.rmoraes.minhasfinancas.api.resources;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.rmoraes.minhasfinancas.api.dto.ResultadoLoteDTO;
+import com.rmoraes.minhasfinancas.api.resource.LancamentoResource;
+import com.rmoraes.minhasfinancas.exception.RegraNegocioException;
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
+import com.rmoraes.minhasfinancas.service.AtualizacaoStatusService;
+import com.rmoraes.minhasfinancas.service.ExportacaoLancamentoService;
+import com.rmoraes.minhasfinancas.service.LancamentoService;
+import com.rmoraes.minhasfinancas.service.TokenService;
+import com.rmoraes.minhasfinancas.service.UsuarioService;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = LancamentoResource.class, properties = "minhasfinancas.lancamento.lote.tamanho=2")
+@AutoConfigureMockMvc
+public class LancamentoResourceTest {
+
+	private static final String API = "/api/lancamentos";
+	private static final String NDJSON = "application/x-ndjson";
+	private static final String TOKEN = "token";
+	private static final String BEARER = "Bearer ".concat(TOKEN);
+	private static final String LANCAMENTO = "{\"descricao\":\"Salário\",\"mes\":1,\"ano\":2019,\"valor\":10,\"usuario\":1,\"tipo\":\"RECEITA\"}";
+
+	@Autowired
+	private MockMvc mvc;
+
+	@MockitoBean
+	private LancamentoService service;
+
+	@MockitoBean
+	private UsuarioService usuarioService;
+
+	@MockitoBean
+	private ExportacaoLancamentoService exportacaoService;
+
+	@MockitoBean
+	private AtualizacaoStatusService atualizacaoStatusService;
+
+	@MockitoBean
+	private TokenService tokenService;
+
+	@Test
+	public void deveImportarNdjsonReportandoLinhasMalformadasSemInterromper() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		when(usuarioService.obterReferencia(1l)).thenReturn(Usuario.builder().id(1l).build());
+		when(service.salvarEmLote(anyList())).thenAnswer(invocation -> salvos(invocation.getArgument(0)));
+		final String corpo = String.join("\n", LANCAMENTO, "{\"descricao\": ", "", LANCAMENTO, "[1]", LANCAMENTO);
+
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = post(API.concat("/lote"))
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.contentType(NDJSON)
+				.content(corpo);
+
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("salvos").value(3))
+			.andExpect(MockMvcResultMatchers.jsonPath("erros.length()").value(2))
+			.andExpect(MockMvcResultMatchers.jsonPath("erros[0].indice").value(1))
+			.andExpect(MockMvcResultMatchers.jsonPath("erros[0].mensagem").value(startsWith("JSON inválido")))
+			.andExpect(MockMvcResultMatchers.jsonPath("erros[1].indice").value(3));
+	}
+
+	@Test
+	public void deveInformarOQueFoiSalvoQuandoAImportacaoNdjsonForInterrompida() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		when(usuarioService.obterReferencia(1l)).thenReturn(Usuario.builder().id(1l).build());
+		when(service.salvarEmLote(anyList()))
+			.thenAnswer(invocation -> salvos(invocation.getArgument(0)))
+			.thenThrow(new IllegalStateException("banco indisponível"));
+		final String corpo = String.join("\n", LANCAMENTO, LANCAMENTO, LANCAMENTO, LANCAMENTO);
+
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = post(API.concat("/lote"))
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.contentType(NDJSON)
+				.content(corpo);
+
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isBadRequest())
+			.andExpect(MockMvcResultMatchers.jsonPath("salvos").value(2))
+			.andExpect(MockMvcResultMatchers.jsonPath("erros.length()").value(1))
+			.andExpect(MockMvcResultMatchers.jsonPath("erros[0].indice").value(2))
+			.andExpect(MockMvcResultMatchers.jsonPath("erros[0].mensagem").value("Importação interrompida: banco indisponível"));
+	}
+
+	@Test
+	public void deveRetornarNaoAutorizadoAoBuscarSemToken() throws Exception {
+		//Cenário
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = get(API).param("usuario", "1");
+
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isUnauthorized());
+		verifyNoInteractions(service);
+	}
+
+	@Test
+	public void deveRetornarProibidoAoBuscarLancamentosDeOutroUsuario() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = get(API)
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.param("usuario", "2");
+
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isForbidden());
+		verifyNoInteractions(service);
+	}
+
+	@Test
+	public void deveRetornarProibidoAoExportarLancamentosDeOutroUsuario() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = get(API.concat("/exportar"))
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.param("usuario", "2");
+
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isForbidden());
+		verifyNoInteractions(exportacaoService);
+	}
+
+	@Test
+	public void deveBuscarOsLancamentosDoUsuarioDoTokenQuandoOUsuarioNaoForInformado() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		when(service.obterVersaoDados(1l)).thenReturn("a-1");
+
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = get(API)
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"a-1\"");
+
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isNotModified());
+		verify(service).obterVersaoDados(1l);
+	}
+
+	@Test
+	public void deveRetornarProibidoAoAlterarLancamentoDeOutroUsuario() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		when(service.obterPorId(5l)).thenReturn(lancamentoDoUsuario(2l));
+
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = delete(API.concat("/{id}"), 5l)
+				.header(HttpHeaders.AUTHORIZATION, BEARER);
+
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isForbidden());
+		verify(service, never()).deletar(any(Lancamento.class));
+	}
+
+	@Test
+	public void deveRetornarProibidoAoObterLancamentoDeOutroUsuario() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		when(service.obterPorId(5l)).thenReturn(lancamentoDoUsuario(2l));
+
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = get(API.concat("/{id}"), 5l)
+				.header(HttpHeaders.AUTHORIZATION, BEARER);
+
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
+
+	@Test
+	public void deveRetornarProibidoAoAtualizarStatusEmLoteDeLancamentosDeOutroUsuario() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		when(service.pertencemAoUsuario(List.of(5l, 6l), 1l)).thenReturn(false);
+
+		//Ação / Execução
+		final MvcResult resultado = mvc.perform(put(API.concat("/status"))
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"id\":5,\"status\":\"EFETIVADO\"},{\"id\":6,\"status\":\"EFETIVADO\"}]"))
+				.andReturn();
+
+		//Verificação
+		mvc.perform(asyncDispatch(resultado))
+			.andExpect(MockMvcResultMatchers.status().isForbidden());
+		verifyNoInteractions(atualizacaoStatusService);
+	}
+
+	@Test
+	public void deveRetornarBadRequestAoAtualizarStatusEmLoteDeLancamentoInexistente() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		when(service.pertencemAoUsuario(List.of(5l), 1l)).thenReturn(true);
+		when(atualizacaoStatusService.agendar(5l, StatusLancamento.EFETIVADO))
+			.thenReturn(CompletableFuture.failedFuture(new RegraNegocioException("Lançamento não encontrado para o id 5.")));
+
+		//Ação / Execução
+		final MvcResult resultado = mvc.perform(put(API.concat("/status"))
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"id\":5,\"status\":\"EFETIVADO\"}]"))
+				.andReturn();
+
+		//Verificação
+		mvc.perform(asyncDispatch(resultado))
+			.andExpect(MockMvcResultMatchers.status().isBadRequest())
+			.andExpect(MockMvcResultMatchers.content().string("Lançamento não encontrado para o id 5."));
+	}
+
+	@Test
+	public void naoDeveAgendarNenhumaAlteracaoQuandoUmItemDoLoteForInvalido() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		when(service.pertencemAoUsuario(anyList(), any(Long.class))).thenReturn(true);
+
+		//Ação / Execução
+		final MvcResult resultado = mvc.perform(put(API.concat("/status"))
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"id\":5,\"status\":\"EFETIVADO\"},{\"id\":6,\"status\":\"INVALIDO\"}]"))
+				.andReturn();
+
+		//Verificação
+		mvc.perform(asyncDispatch(resultado))
+			.andExpect(MockMvcResultMatchers.status().isBadRequest());
+		verifyNoInteractions(atualizacaoStatusService);
+	}
+
+	@Test
+	public void deveRecusarNoLoteOsLancamentosDeOutroUsuario() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		when(usuarioService.obterReferencia(1l)).thenReturn(Usuario.builder().id(1l).build());
+		when(service.salvarEmLote(anyList())).thenAnswer(invocation -> salvos(invocation.getArgument(0)));
+		final String corpo = "[" + LANCAMENTO + "," + LANCAMENTO.replace("\"usuario\":1", "\"usuario\":2") + "]";
+
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = post(API.concat("/lote"))
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(corpo);
+
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("salvos").value(1))
+			.andExpect(MockMvcResultMatchers.jsonPath("erros.length()").value(1))
+			.andExpect(MockMvcResultMatchers.jsonPath("erros[0].indice").value(1))
+			.andExpect(MockMvcResultMatchers.jsonPath("erros[0].mensagem").value("Acesso negado aos dados de outro usuário."));
+		verify(usuarioService, never()).obterReferencia(2l);
+	}
+
+	private Lancamento lancamentoDoUsuario(final Long idUsuario) {
+		return Lancamento.builder().id(5l).usuario(Usuario.builder().id(idUsuario).build()).build();
+	}
+
+	private ResultadoLoteDTO salvos(final List<?> lancamentos) {
+		final ResultadoLoteDTO resultado = new ResultadoLoteDTO();
+		resultado.setSalvos(lancamentos.size());
+		return resultado;
+	}
+
+}
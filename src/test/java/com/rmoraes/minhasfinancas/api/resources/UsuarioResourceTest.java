@@ -4,20 +4,22 @@ import static com.rmoraes.minhasfinancas.utils.TestUtils.EMAIL;
 import static com.rmoraes.minhasfinancas.utils.TestUtils.SENHA;
 import static com.rmoraes.minhasfinancas.utils.TestUtils.criarUsuario;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
-import java.math.BigDecimal;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
@@ -28,8 +30,10 @@ import com.rmoraes.minhasfinancas.api.dto.UsuarioDTO;
 import com.rmoraes.minhasfinancas.api.resource.UsuarioResource;
 import com.rmoraes.minhasfinancas.exception.AutenticacaoException;
 import com.rmoraes.minhasfinancas.exception.RegraNegocioException;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
 import com.rmoraes.minhasfinancas.model.entity.Usuario;
 import com.rmoraes.minhasfinancas.service.LancamentoService;
+import com.rmoraes.minhasfinancas.service.TokenService;
 import com.rmoraes.minhasfinancas.service.UsuarioService;
 
 @RunWith(SpringRunner.class)
@@ -39,22 +43,28 @@ import com.rmoraes.minhasfinancas.service.UsuarioService;
 public class UsuarioResourceTest {
 	
 	private static final String API = "/api/usuarios";
+	private static final String TOKEN = "token";
+	private static final String BEARER = "Bearer ".concat(TOKEN);
 	
 	@Autowired
 	private MockMvc mvc;
 	
-	@MockBean
+	@MockitoBean
 	private UsuarioService service;
 	
-	@MockBean
+	@MockitoBean
 	private LancamentoService lancamentoService;
 	
+	@MockitoBean
+	private TokenService tokenService;
+	
 	@Test
 	public void deveAutenticarUmUsuario() throws Exception {
 		//Cenário
 		final UsuarioDTO dto = UsuarioDTO.builder().email(EMAIL).senha(SENHA).build();
 		final Usuario usuario = criarUsuario();
 		when(service.autenticar(EMAIL, SENHA)).thenReturn(usuario);
+		when(tokenService.gerar(usuario)).thenReturn("token");
 		final String json = new ObjectMapper().writeValueAsString(dto);
 		
 		//Ação / Execução
@@ -68,7 +78,8 @@ public class UsuarioResourceTest {
 			.andExpect(MockMvcResultMatchers.status().isOk())
 			.andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
 			.andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
-			.andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()));
+			.andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()))
+			.andExpect(MockMvcResultMatchers.jsonPath("token").value("token"));
 	}
 	
 	@Test
@@ -131,36 +142,135 @@ public class UsuarioResourceTest {
 	@Test
 	public void deveObterSaldoDoUsuario() throws Exception {
 		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
 		final Long id = 1l;
-		final BigDecimal saldo = BigDecimal.TEN;
+		final Dinheiro saldo = Dinheiro.reais(10);
 		final Usuario usuario = criarUsuario();
 		usuario.setId(id);
 		when(service.obterPorId(id)).thenReturn(usuario);
 		when(lancamentoService.obterSaldoPorUsuario(usuario.getId())).thenReturn(saldo);
+		when(lancamentoService.obterVersaoDados(id)).thenReturn("a-1");
 		
 		//Ação / Execução
 		final MockHttpServletRequestBuilder requet = get(API.concat("/{id}/saldo"), id)
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
 				.accept(APPLICATION_JSON)
 				.contentType(APPLICATION_JSON);
 		
 		//Verificação
 		mvc.perform(requet)
 			.andExpect(MockMvcResultMatchers.status().isOk())
-			.andExpect(MockMvcResultMatchers.jsonPath("$").value(saldo));
+			.andExpect(MockMvcResultMatchers.jsonPath("$").value(saldo.paraBigDecimal().doubleValue()))
+			.andExpect(MockMvcResultMatchers.header().string("ETag", "\"a-1\""))
+			.andExpect(MockMvcResultMatchers.header().string("Cache-Control", "no-cache, private"));
+	}
+	
+	@Test
+	public void deveObterSaldoDoAnoQuandoOMesNaoForInformado() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		final Long id = 1l;
+		final Usuario usuario = criarUsuario();
+		usuario.setId(id);
+		when(service.obterPorId(id)).thenReturn(usuario);
+		when(lancamentoService.obterSaldoPorUsuarioEPeriodo(id, 2019, null)).thenReturn(Dinheiro.reais(7));
+		when(lancamentoService.obterVersaoDados(id)).thenReturn("a-1");
+		
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = get(API.concat("/{id}/saldo"), id)
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.param("ano", "2019")
+				.accept(APPLICATION_JSON);
+		
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("$").value(7.0));
+		verify(lancamentoService, never()).obterSaldoPorUsuario(any(Long.class));
+	}
+	
+	@Test
+	public void deveRetornarBadRequestAoObterSaldoDoMesSemOAno() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = get(API.concat("/{id}/saldo"), 1l)
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.param("mes", "1")
+				.accept(APPLICATION_JSON);
+		
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isBadRequest());
+		verify(lancamentoService, never()).obterVersaoDados(any(Long.class));
+	}
+	
+	@Test
+	public void deveResponderNaoModificadoSemCalcularOSaldoQuandoAVersaoNaoMudou() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		when(lancamentoService.obterVersaoDados(1l)).thenReturn("a-1");
+		
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = get(API.concat("/{id}/saldo"), 1l)
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.accept(APPLICATION_JSON)
+				.header("If-None-Match", "\"a-1\"");
+		
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isNotModified())
+			.andExpect(MockMvcResultMatchers.header().string("ETag", "\"a-1\""))
+			.andExpect(MockMvcResultMatchers.header().string("Cache-Control", "no-cache, private"));
+		verify(service, never()).obterPorId(any(Long.class));
+		verify(lancamentoService, never()).obterSaldoPorUsuario(any(Long.class));
 	}
 	
 	@Test
 	public void deveRetornarBadRequestAoObterSaldoDoUsuarioInvalido() throws Exception {
 		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
 		when(service.obterPorId(any(Long.class))).thenThrow(RegraNegocioException.class);
 		
 		//Ação / Execução
 		final MockHttpServletRequestBuilder requet = get(API.concat("/{id}/saldo"), 1l)
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
 				.accept(APPLICATION_JSON);
 		
 		//Verificação
 		mvc.perform(requet)
 			.andExpect(MockMvcResultMatchers.status().isBadRequest());
 	}
+	
+	@Test
+	public void deveRetornarNaoAutorizadoAoObterSaldoSemToken() throws Exception {
+		//Cenário
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = get(API.concat("/{id}/saldo"), 1l)
+				.accept(APPLICATION_JSON);
+		
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isUnauthorized());
+		verify(lancamentoService, never()).obterVersaoDados(any(Long.class));
+	}
+	
+	@Test
+	public void deveRetornarProibidoAoObterSaldoDeOutroUsuario() throws Exception {
+		//Cenário
+		when(tokenService.validar(TOKEN)).thenReturn(1l);
+		
+		//Ação / Execução
+		final MockHttpServletRequestBuilder requet = get(API.concat("/{id}/saldo"), 2l)
+				.header(HttpHeaders.AUTHORIZATION, BEARER)
+				.accept(APPLICATION_JSON);
+		
+		//Verificação
+		mvc.perform(requet)
+			.andExpect(MockMvcResultMatchers.status().isForbidden());
+		verify(lancamentoService, never()).obterVersaoDados(any(Long.class));
+		verify(lancamentoService, never()).obterSaldoPorUsuario(any(Long.class));
+	}
 
 }
@@ -0,0 +1,90 @@
+package com.rmoraes.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+		"minhasfinancas.datasource.replicas=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+		"minhasfinancas.datasource.lote.jdbc-url=jdbc:h2:mem:lote;DB_CLOSE_DELAY=-1"
+})
+public class DataSourceConfigTest {
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	
+	@Autowired
+	private MeterRegistry registry;
+	
+	@Test
+	public void deveExecutarTransacoesSomenteLeituraNaReplicaEAsDemaisNoPrimario() {
+		//Cenário
+		final TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+		leitura.setReadOnly(true);
+		final TransactionTemplate escrita = new TransactionTemplate(transactionManager);
+		
+		//Ação / Execução
+		final String urlLeitura = leitura.execute(status -> urlDaConexao());
+		final String urlEscrita = escrita.execute(status -> urlDaConexao());
+		
+		//Verificação
+		assertThat(urlLeitura).startsWith("jdbc:h2:mem:replica");
+		assertThat(urlEscrita).startsWith("jdbc:h2:mem:db");
+	}
+	
+	@Test
+	public void deveExecutarCargasPesadasNoPoolDeLote() {
+		//Cenário
+		final TransactionTemplate escrita = new TransactionTemplate(transactionManager);
+		
+		//Ação / Execução
+		CargaTrabalho.iniciarLote();
+		final String url;
+		try {
+			url = escrita.execute(status -> urlDaConexao());
+		} finally {
+			CargaTrabalho.encerrarLote();
+		}
+		
+		//Verificação
+		assertThat(url).startsWith("jdbc:h2:mem:lote");
+	}
+	
+	@Test
+	public void devePublicarMetricasDeCadaPool() {
+		//Cenário
+		final TransactionTemplate escrita = new TransactionTemplate(transactionManager);
+		
+		//Ação / Execução
+		escrita.execute(status -> urlDaConexao());
+		
+		//Verificação
+		assertThat(registry.find("hikaricp.connections.active").tag("pool", "interativo").gauge()).isNotNull();
+		assertThat(registry.find("hikaricp.connections.pending").tag("pool", "interativo").gauge()).isNotNull();
+		assertThat(registry.find("hikaricp.connections.idle").tag("pool", "interativo").gauge()).isNotNull();
+		assertThat(registry.find("hikaricp.connections.acquire").tag("pool", "interativo").timer().count()).isPositive();
+	}
+	
+	private String urlDaConexao() {
+		return entityManager.unwrap(Session.class).doReturningWork(conexao -> conexao.getMetaData().getURL());
+	}
+
+}
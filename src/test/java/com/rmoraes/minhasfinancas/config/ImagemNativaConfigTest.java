@@ -0,0 +1,59 @@
+package com.rmoraes.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.annotation.ReflectiveRuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.rmoraes.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.rmoraes.minhasfinancas.api.dto.LancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.UsuarioDTO;
+import com.rmoraes.minhasfinancas.metricas.ConsumoBancoDadosListener;
+
+public class ImagemNativaConfigTest {
+	
+	@Test
+	public void deveRegistrarOsDtosParaOJackson() {
+		//Cenário
+		final RuntimeHints hints = new RuntimeHints();
+		
+		//Ação / Execução
+		new ReflectiveRuntimeHintsRegistrar().registerRuntimeHints(hints, ImagemNativaConfig.class);
+		
+		//Verificação
+		assertThat(RuntimeHintsPredicates.reflection().onMethod(LancamentoDTO.class, "setDescricao")).accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onMethod(UsuarioDTO.class, "getEmail")).accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onType(AtualizaStatusDTO.class).withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+	}
+	
+	@Test
+	public void deveRegistrarOListenerDeSessaoDoHibernate() {
+		//Cenário
+		final RuntimeHints hints = new RuntimeHints();
+		
+		//Ação / Execução
+		new ImagemNativaConfig.Dicas().registerHints(hints, getClass().getClassLoader());
+		
+		//Verificação
+		assertThat(RuntimeHintsPredicates.reflection().onType(ConsumoBancoDadosListener.class).withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+		assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/comum/V1__criar_esquema.sql")).accepts(hints);
+	}
+	
+	@Test
+	public void deveRegistrarOProviderEAConfiguracaoDoCacheDeSegundoNivel() {
+		//Cenário
+		final RuntimeHints hints = new RuntimeHints();
+		
+		//Ação / Execução
+		new ImagemNativaConfig.Dicas().registerHints(hints, getClass().getClassLoader());
+		
+		//Verificação
+		assertThat(RuntimeHintsPredicates.reflection().onType(CaffeineCachingProvider.class).withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+		assertThat(RuntimeHintsPredicates.resource().forResource("application.conf")).accepts(hints);
+	}
+
+}
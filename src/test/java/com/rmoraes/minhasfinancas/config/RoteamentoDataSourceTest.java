@@ -0,0 +1,162 @@
+package com.rmoraes.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.rmoraes.minhasfinancas.metricas.ConsumoBancoDados;
+
+public class RoteamentoDataSourceTest {
+	
+	private final DataSource primario = mock(DataSource.class);
+	private final DataSource lote = mock(DataSource.class);
+	private final DataSource replica1 = mock(DataSource.class);
+	private final DataSource replica2 = mock(DataSource.class);
+	private final Connection conexaoPrimario = mock(Connection.class);
+	private final Connection conexaoLote = mock(Connection.class);
+	private final Connection conexaoReplica1 = mock(Connection.class);
+	private final Connection conexaoReplica2 = mock(Connection.class);
+	private final RoteamentoDataSource dataSource = new RoteamentoDataSource(primario, lote, Arrays.asList(replica1, replica2), 60);
+	
+	@After
+	public void limpar() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		CargaTrabalho.encerrarLote();
+	}
+	
+	@Test
+	public void deveUsarOPrimarioForaDeTransacoesSomenteLeitura() throws SQLException {
+		//Cenário
+		when(primario.getConnection()).thenReturn(conexaoPrimario);
+		
+		//Ação / Execução
+		final Connection conexao = dataSource.getConnection();
+		
+		//Verificação
+		assertThat(conexao).isSameAs(conexaoPrimario);
+	}
+	
+	@Test
+	public void deveAlternarEntreAsReplicasEmTransacoesSomenteLeitura() throws SQLException {
+		//Cenário
+		when(replica1.getConnection()).thenReturn(conexaoReplica1);
+		when(replica2.getConnection()).thenReturn(conexaoReplica2);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		
+		//Ação / Execução
+		final Connection primeira = dataSource.getConnection();
+		final Connection segunda = dataSource.getConnection();
+		final Connection terceira = dataSource.getConnection();
+		
+		//Verificação
+		assertThat(Arrays.asList(primeira, segunda, terceira)).containsExactly(conexaoReplica1, conexaoReplica2, conexaoReplica1);
+	}
+	
+	@Test
+	public void devePularAReplicaQueFalhouDuranteAQuarentena() throws SQLException {
+		//Cenário
+		when(replica1.getConnection()).thenThrow(new SQLException("fora do ar"));
+		when(replica2.getConnection()).thenReturn(conexaoReplica2);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		
+		//Ação / Execução
+		final Connection primeira = dataSource.getConnection();
+		final Connection segunda = dataSource.getConnection();
+		final Connection terceira = dataSource.getConnection();
+		
+		//Verificação
+		assertThat(Arrays.asList(primeira, segunda, terceira)).containsOnly(conexaoReplica2);
+		verify(replica1, times(1)).getConnection();
+	}
+	
+	@Test
+	public void deveLerDoPrimarioQuandoNenhumaReplicaEstiverDisponivel() throws SQLException {
+		//Cenário
+		when(replica1.getConnection()).thenThrow(new SQLException("fora do ar"));
+		when(replica2.getConnection()).thenThrow(new SQLException("fora do ar"));
+		when(primario.getConnection()).thenReturn(conexaoPrimario);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		
+		//Ação / Execução
+		final Connection conexao = dataSource.getConnection();
+		
+		//Verificação
+		assertThat(conexao).isSameAs(conexaoPrimario);
+	}
+	
+	@Test
+	public void deveUsarOPoolDeLoteEmCargasPesadas() throws SQLException {
+		//Cenário
+		when(lote.getConnection()).thenReturn(conexaoLote);
+		CargaTrabalho.iniciarLote();
+		
+		//Ação / Execução
+		final Connection conexao = dataSource.getConnection();
+		
+		//Verificação
+		assertThat(conexao).isSameAs(conexaoLote);
+	}
+	
+	@Test
+	public void deveLerDoPoolDeLoteEmCargasPesadasSemReplicaDisponivel() throws SQLException {
+		//Cenário
+		when(replica1.getConnection()).thenThrow(new SQLException("fora do ar"));
+		when(replica2.getConnection()).thenThrow(new SQLException("fora do ar"));
+		when(lote.getConnection()).thenReturn(conexaoLote);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		CargaTrabalho.iniciarLote();
+		
+		//Ação / Execução
+		final Connection conexao = dataSource.getConnection();
+		
+		//Verificação
+		assertThat(conexao).isSameAs(conexaoLote);
+	}
+	
+	@Test
+	public void deveRepassarAsCredenciaisAoPoolEscolhido() throws SQLException {
+		//Cenário
+		when(replica1.getConnection("leitor", "senha")).thenReturn(conexaoReplica1);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		
+		//Ação / Execução
+		final Connection conexao = dataSource.getConnection("leitor", "senha");
+		
+		//Verificação
+		assertThat(conexao).isSameAs(conexaoReplica1);
+	}
+	
+	@Test
+	public void deveRegistrarAEsperaPelaConexaoNoConsumoDaRequisicao() throws SQLException {
+		//Cenário
+		when(primario.getConnection()).thenAnswer(invocacao -> {
+			Thread.sleep(20);
+			return conexaoPrimario;
+		});
+		final ConsumoBancoDados consumo = ConsumoBancoDados.iniciar();
+		
+		//Ação / Execução
+		try {
+			dataSource.getConnection();
+		} finally {
+			ConsumoBancoDados.encerrar();
+		}
+		
+		//Verificação
+		assertThat(consumo.getTempoEsperaConexaoNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.rmoraes.minhasfinancas.job;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+public class ParticionamentoLancamentoJobTest {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final ParticionamentoLancamentoJob job =
+			new ParticionamentoLancamentoJob(jdbcTemplate, mock(PlatformTransactionManager.class), 2);
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void naoDeveCriarParticoesForaDoPostgreSQL() {
+		//Cenário
+		when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(Boolean.FALSE);
+
+		//Ação / Execução
+		job.executar();
+
+		//Verificação
+		verify(jdbcTemplate, never()).execute(anyString());
+	}
+
+	@Test
+	public void deveMoverAsLinhasDaParticaoPadraoAntesDeAnexarANovaParticao() {
+		//Cenário
+		when(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, "financas.lancamento_2030")).thenReturn(Boolean.FALSE);
+
+		//Ação / Execução
+		job.criarParticao(2030);
+
+		//Verificação
+		final InOrder ordem = inOrder(jdbcTemplate);
+		ordem.verify(jdbcTemplate).execute("create table financas.lancamento_2030 (like financas.lancamento including defaults including constraints)");
+		ordem.verify(jdbcTemplate).update(
+				"with movidos as (delete from financas.lancamento_padrao where ano = ? returning *) insert into financas.lancamento_2030 select * from movidos", 2030);
+		ordem.verify(jdbcTemplate).execute("alter table financas.lancamento attach partition financas.lancamento_2030 for values in (2030)");
+	}
+
+	@Test
+	public void naoDeveRecriarUmaParticaoExistente() {
+		//Cenário
+		when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq("financas.lancamento_2030"))).thenReturn(Boolean.TRUE);
+
+		//Ação / Execução
+		job.criarParticao(2030);
+
+		//Verificação
+		verify(jdbcTemplate, never()).execute(anyString());
+	}
+
+}
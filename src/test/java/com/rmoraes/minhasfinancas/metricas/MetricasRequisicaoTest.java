@@ -0,0 +1,89 @@
+package com.rmoraes.minhasfinancas.metricas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.model.repository.UsuarioRepository;
+import com.rmoraes.minhasfinancas.service.TokenService;
+import com.rmoraes.minhasfinancas.utils.TestUtils;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MetricasRequisicaoTest {
+	
+	private static final String SALDO_API = "/api/usuarios/{id}/saldo";
+	
+	@Autowired
+	private MockMvc mvc;
+	
+	@Autowired
+	private MeterRegistry registry;
+	
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	private TokenService tokenService;
+	
+	@Test
+	public void deveRegistrarOsComandosSqlDaRequisicaoPorEndpoint() throws Exception {
+		//Cenário
+		final Usuario usuario = usuarioRepository.save(TestUtils.criarUsuario());
+		
+		//Ação / Execução
+		mvc.perform(get(SALDO_API, usuario.getId()).header(HttpHeaders.AUTHORIZATION, bearer(usuario)))
+		   .andExpect(status().isOk());
+		
+		//Verificação
+		final DistributionSummary comandos = registry.get("minhasfinancas.requisicao.sql.comandos")
+													 .tags("method", "GET", "uri", SALDO_API)
+													 .summary();
+		assertThat(comandos.count()).isGreaterThanOrEqualTo(1);
+		assertThat(comandos.totalAmount()).isGreaterThanOrEqualTo(1);
+		final Timer espera = registry.get("minhasfinancas.requisicao.conexao.espera").tags("uri", SALDO_API).timer();
+		assertThat(espera.count()).isGreaterThanOrEqualTo(1);
+		assertThat(espera.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+		usuarioRepository.delete(usuario);
+	}
+	
+	@Test
+	public void deveContarAsExcecoesDaCamadaDeServicoPorTipo() throws Exception {
+		//Cenário
+		final Usuario inexistente = Usuario.builder().id(Long.MAX_VALUE).build();
+		
+		//Ação / Execução
+		mvc.perform(get(SALDO_API, Long.MAX_VALUE).header(HttpHeaders.AUTHORIZATION, bearer(inexistente)))
+		   .andExpect(status().isBadRequest());
+		
+		//Verificação
+		assertThat(registry.get("minhasfinancas.servico.erros")
+						   .tags("excecao", "RegraNegocioException", "metodo", "UsuarioServiceImpl.obterPorId")
+						   .counter()
+						   .count()).isGreaterThanOrEqualTo(1);
+	}
+	
+	private String bearer(final Usuario usuario) {
+		return "Bearer ".concat(tokenService.gerar(usuario));
+	}
+
+}
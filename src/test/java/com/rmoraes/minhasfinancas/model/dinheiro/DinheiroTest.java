@@ -0,0 +1,55 @@
+package com.rmoraes.minhasfinancas.model.dinheiro;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class DinheiroTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	public void deveSomarESubtrairEmCentavos() {
+		//Cenário
+		final Dinheiro valor = Dinheiro.de(new BigDecimal("10.1"));
+
+		//Ação / Execução
+		final Dinheiro resultado = valor.somar(Dinheiro.deCentavos(5)).subtrair(Dinheiro.reais(1));
+
+		//Verificação
+		assertThat(valor.getCentavos()).isEqualTo(1010l);
+		assertThat(resultado).isEqualTo(Dinheiro.de(new BigDecimal("9.15")));
+		assertThat(resultado.paraBigDecimal()).isEqualTo(new BigDecimal("9.15"));
+		assertThat(Dinheiro.de(BigDecimal.TEN)).isEqualTo(Dinheiro.de(new BigDecimal("10.000")));
+	}
+
+	@Test
+	public void deveLancarErroAoEstourarOLimiteOuPerderCentavos() {
+		//Ação / Execução
+		final Throwable estouro = catchThrowable(() -> Dinheiro.deCentavos(Long.MAX_VALUE).somar(Dinheiro.deCentavos(1)));
+		final Throwable fracao = catchThrowable(() -> Dinheiro.de(new BigDecimal("0.001")));
+		final Throwable grande = catchThrowable(() -> Dinheiro.de(new BigDecimal("1e20")));
+
+		//Verificação
+		assertThat(estouro).isInstanceOf(ArithmeticException.class).hasMessage("Valor fora do limite suportado.");
+		assertThat(fracao).isInstanceOf(ArithmeticException.class).hasMessage("Informe um valor com no máximo duas casas decimais.");
+		assertThat(grande).isInstanceOf(ArithmeticException.class).hasMessage("Valor fora do limite suportado.");
+	}
+
+	@Test
+	public void deveSerializarComoNumeroComDuasCasas() throws Exception {
+		//Ação / Execução
+		final String json = mapper.writeValueAsString(Dinheiro.deCentavos(-1050));
+		final Dinheiro lido = mapper.readValue("12.3", Dinheiro.class);
+
+		//Verificação
+		assertThat(json).isEqualTo("-10.50");
+		assertThat(lido).isEqualTo(Dinheiro.deCentavos(1230));
+	}
+
+}
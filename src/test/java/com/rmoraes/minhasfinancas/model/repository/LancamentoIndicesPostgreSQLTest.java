@@ -0,0 +1,100 @@
+package com.rmoraes.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.Flyway;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Planos das consultas de lançamento no PostgreSQL, com as migrações de {@code comum} e {@code postgresql}.
+ * Só roda com {@code -Dminhasfinancas.teste.postgresql.url=jdbc:postgresql://...} apontando para um banco
+ * descartável (usuário e senha em {@code .usuario} e {@code .senha}); os dados são desfeitos no fim.
+ */
+public class LancamentoIndicesPostgreSQLTest {
+
+	private static final String URL = System.getProperty("minhasfinancas.teste.postgresql.url");
+	private static final String USUARIO = System.getProperty("minhasfinancas.teste.postgresql.usuario", "postgres");
+	private static final String SENHA = System.getProperty("minhasfinancas.teste.postgresql.senha", "");
+
+	private Connection conexao;
+
+	@Before
+	public void setUp() throws SQLException {
+		assumeTrue("banco PostgreSQL de teste não informado", URL != null);
+		Flyway.configure()
+			  .dataSource(URL, USUARIO, SENHA)
+			  .schemas("financas")
+			  .locations("classpath:db/migration/comum", "classpath:db/migration/postgresql")
+			  .load()
+			  .migrate();
+		conexao = DriverManager.getConnection(URL, USUARIO, SENHA);
+		conexao.setAutoCommit(false);
+		try(Statement statement = conexao.createStatement()) {
+			statement.execute("insert into financas.usuario (id, nome, email) values (-1, 'plano', 'plano@indices.teste')");
+			statement.execute("insert into financas.lancamento (id, descricao, mes, ano, valor, tipo, status, id_usuario) "
+							+ "select -n, 'lançamento ' || n, 1 + n % 12, 2000 + n % 20, n, "
+							+ "case when n % 2 = 0 then 'RECEITA' else 'DESPESA' end, 'PENDENTE', -1 "
+							+ "from generate_series(1, 5000) n");
+			statement.execute("analyze financas.lancamento");
+			statement.execute("set local enable_seqscan = off");
+		}
+	}
+
+	@After
+	public void tearDown() throws SQLException {
+		if(conexao != null) {
+			conexao.rollback();
+			conexao.close();
+		}
+	}
+
+	@Test
+	public void deveResolverABuscaPorDescricaoPeloIndiceDeTrigramas() throws SQLException {
+		//Ação / Execução: o mesmo formato de LancamentoRepositoryImpl
+		final String plano = planoDe("select l.id from financas.lancamento l "
+				+ "where l.id_usuario = -1 and lower(l.descricao) like '%amento 12%' and l.id > -100000 order by l.id asc limit 20");
+
+		//Verificação
+		assertThat(plano).contains("idx_lancamento_descricao_trgm");
+	}
+
+	@Test
+	public void deveResolverAPesquisaTextualPeloIndiceDeTsvector() throws SQLException {
+		//Ação / Execução
+		final String plano = planoDe(PesquisaDescricaoPostgreSQL.CONSULTA
+				.replace(":consulta", "'lancamento:*'")
+				.replace(":idUsuario", "-1") + " limit 20");
+
+		//Verificação
+		assertThat(plano).contains("idx_lancamento_descricao_texto");
+	}
+
+	@Test
+	public void deveResolverABuscaPorPeriodoPeloIndiceDeUsuarioAnoEMes() throws SQLException {
+		//Ação / Execução
+		final String plano = planoDe("select l.id from financas.lancamento l "
+				+ "where l.id_usuario = -1 and l.ano = 2010 and l.mes = 1 and l.id > -100000 order by l.id asc limit 20");
+
+		//Verificação
+		assertThat(plano).contains("idx_lancamento_usuario_ano_mes");
+	}
+
+	private String planoDe(final String sql) throws SQLException {
+		final StringBuilder plano = new StringBuilder();
+		try(Statement statement = conexao.createStatement(); ResultSet linhas = statement.executeQuery("explain " + sql)) {
+			while(linhas.next()) {
+				plano.append(linhas.getString(1)).append('\n');
+			}
+		}
+		return plano.toString();
+	}
+}
@@ -1,11 +1,21 @@
 package com.rmoraes.minhasfinancas.model.repository;
 
 import static com.rmoraes.minhasfinancas.utils.TestUtils.criarEPersistirUmLancamento;
+import static com.rmoraes.minhasfinancas.utils.TestUtils.criarEPersistirUmUsuario;
 import static com.rmoraes.minhasfinancas.utils.TestUtils.criarLancamento;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,13 +26,19 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.rmoraes.minhasfinancas.api.dto.FiltroLancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.LancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.ResumoLancamentoDTO;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
 import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.entity.Saldo;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
 import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
 import com.rmoraes.minhasfinancas.model.enums.TipoLancamento;
 
 @RunWith(SpringRunner.class)
 @ActiveProfiles("test")
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureTestDatabase(replace = Replace.NONE)
 public class LancamentoRepositoryTest {
 
@@ -32,6 +48,9 @@ public class LancamentoRepositoryTest {
 	@Autowired
 	private TestEntityManager entityManager;
 	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
 	@Test
 	public void deveSalvarUmLancamento() {
 		//Cenário
@@ -89,4 +108,214 @@ public class LancamentoRepositoryTest {
 		//Verificação
 		assertThat(lancamentoEncontrado.isPresent()).isTrue();  
 	}
+	
+	@Test
+	public void naoDeveCarregarOUsuarioAoImprimirOuCompararUmLancamento() {
+		//Cenário
+		final Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(criarEPersistirUmUsuario(entityManager));
+		entityManager.persistAndFlush(lancamento);
+		entityManager.clear();
+		final Lancamento lancamentoEncontrado = repository.findById(lancamento.getId()).get();
+		
+		//Ação / Execução
+		lancamentoEncontrado.toString();
+		lancamentoEncontrado.hashCode();
+		
+		//Verificação
+		assertThat(Hibernate.isInitialized(lancamentoEncontrado.getUsuario())).isFalse();
+	}
+	
+	@Test
+	public void deveObterAContribuicaoPersistidaDeUmLancamentoParaOSaldo() {
+		//Cenário
+		final Usuario usuario = criarEPersistirUmUsuario(entityManager);
+		final Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		entityManager.persistAndFlush(lancamento);
+		lancamento.setValor(Dinheiro.reais(1));
+		
+		//Ação / Execução
+		final Optional<Saldo> contribuicao = repository.obterContribuicaoParaSaldo(lancamento.getId());
+		
+		//Verificação
+		assertThat(contribuicao.isPresent()).isTrue();
+		assertThat(contribuicao.get().getReceitas()).isEqualTo(Dinheiro.reais(10));
+		assertThat(contribuicao.get().getDespesas()).isEqualTo(Dinheiro.ZERO);
+	}
+	
+	@Test
+	public void deveCalcularOsSaldosMensaisDeUmUsuario() {
+		//Cenário
+		final Usuario usuario = criarEPersistirUmUsuario(entityManager);
+		final Lancamento receita = criarLancamento();
+		receita.setUsuario(usuario);
+		entityManager.persist(receita);
+		final Lancamento despesa = criarLancamento();
+		despesa.setUsuario(usuario);
+		despesa.setTipo(TipoLancamento.DESPESA);
+		despesa.setValor(Dinheiro.reais(4));
+		entityManager.persist(despesa);
+		final Lancamento outroMes = criarLancamento();
+		outroMes.setUsuario(usuario);
+		outroMes.setMes(2);
+		entityManager.persist(outroMes);
+		
+		//Ação / Execução
+		final List<Saldo> saldos = repository.calcularSaldosPorUsuario(usuario.getId());
+		
+		//Verificação
+		assertThat(saldos).hasSize(2);
+		final Saldo janeiro = saldos.stream().filter(s -> s.getMes() == 1).findFirst().get();
+		assertThat(janeiro.calcularSaldo()).isEqualTo(Dinheiro.reais(6));
+	}
+	
+	@Test
+	public void deveAgruparOsLancamentosPorPeriodoTipoESituacao() {
+		//Cenário
+		final Usuario usuario = criarEPersistirUmUsuario(entityManager);
+		for (int i = 0; i < 2; i++) {
+			final Lancamento receita = criarLancamento();
+			receita.setUsuario(usuario);
+			entityManager.persist(receita);
+		}
+		final Lancamento despesa = criarLancamento();
+		despesa.setUsuario(usuario);
+		despesa.setTipo(TipoLancamento.DESPESA);
+		despesa.setStatus(StatusLancamento.EFETIVADO);
+		entityManager.persist(despesa);
+		final Lancamento outroAno = criarLancamento();
+		outroAno.setUsuario(usuario);
+		outroAno.setAno(2018);
+		entityManager.persist(outroAno);
+		
+		//Ação / Execução
+		final List<ResumoLancamentoDTO> resumo = repository.obterResumoPorUsuarioEAno(usuario.getId(), 2019);
+		final List<ResumoLancamentoDTO> resumoCompleto = repository.obterResumoPorUsuario(usuario.getId());
+		
+		//Verificação
+		assertThat(resumo).hasSize(2);
+		assertThat(resumo.get(0).getTipo()).isEqualTo(TipoLancamento.DESPESA);
+		assertThat(resumo.get(0).getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		assertThat(resumo.get(1).getTipo()).isEqualTo(TipoLancamento.RECEITA);
+		assertThat(resumo.get(1).getQuantidade()).isEqualTo(2);
+		assertThat(resumo.get(1).getTotal()).isEqualTo(Dinheiro.reais(20));
+		assertThat(resumoCompleto).hasSize(3);
+		assertThat(resumoCompleto.get(0).getAno()).isEqualTo(2018);
+	}
+	
+	@Test
+	public void deveAtualizarOStatusDeVariosLancamentosEmUmUnicoComando() {
+		//Cenário
+		final Lancamento primeiro = criarEPersistirUmLancamento(entityManager);
+		final Lancamento segundo = criarEPersistirUmLancamento(entityManager);
+		final Lancamento terceiro = criarEPersistirUmLancamento(entityManager);
+		entityManager.flush();
+		entityManager.clear();
+		
+		//Ação / Execução
+		final int atualizados = repository.atualizarStatus(Arrays.asList(primeiro.getId(), segundo.getId()), StatusLancamento.EFETIVADO);
+		
+		//Verificação
+		assertThat(atualizados).isEqualTo(2);
+		assertThat(entityManager.find(Lancamento.class, primeiro.getId()).getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		assertThat(entityManager.find(Lancamento.class, primeiro.getId()).getVersao()).isEqualTo(primeiro.getVersao() + 1);
+		assertThat(entityManager.find(Lancamento.class, terceiro.getId()).getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+	}
+	
+	@Test
+	public void deveBuscarLancamentosPaginadosPorCursor() {
+		//Cenário
+		final Usuario usuario = criarEPersistirUmUsuario(entityManager);
+		for (int i = 0; i < 3; i++) {
+			final Lancamento lancamento = criarLancamento();
+			lancamento.setUsuario(usuario);
+			entityManager.persist(lancamento);
+		}
+		final Lancamento outroAno = criarLancamento();
+		outroAno.setUsuario(usuario);
+		outroAno.setAno(2018);
+		entityManager.persist(outroAno);
+		final FiltroLancamentoDTO filtro = FiltroLancamentoDTO.builder()
+															  .usuario(usuario.getId())
+															  .ano(2019)
+															  .descricao("QUALQUER")
+															  .build();
+		
+		//Ação / Execução
+		final List<Lancamento> primeiraPagina = repository.buscar(filtro, null, 2);
+		final List<Lancamento> segundaPagina = repository.buscar(filtro, primeiraPagina.get(1).getId(), 2);
+		
+		//Verificação
+		assertThat(primeiraPagina).hasSize(2);
+		assertThat(primeiraPagina.get(0).getId()).isLessThan(primeiraPagina.get(1).getId());
+		assertThat(segundaPagina).hasSize(1);
+		assertThat(segundaPagina.get(0).getId()).isGreaterThan(primeiraPagina.get(1).getId());
+	}
+	
+	@Test
+	public void deveExportarOsLancamentosDoUsuarioSemMantelosNoContexto() {
+		//Cenário
+		final Usuario usuario = criarEPersistirUmUsuario(entityManager);
+		for (int i = 0; i < 3; i++) {
+			final Lancamento lancamento = criarLancamento();
+			lancamento.setUsuario(usuario);
+			entityManager.persist(lancamento);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		
+		//Ação / Execução
+		final List<Lancamento> exportados;
+		try (Stream<Lancamento> lancamentos = repository.exportar(FiltroLancamentoDTO.builder().usuario(usuario.getId()).build())) {
+			exportados = lancamentos.peek(repository::desanexar).collect(Collectors.toList());
+		}
+		
+		//Verificação
+		assertThat(exportados).hasSize(3);
+		assertThat(exportados).noneMatch(entityManager.getEntityManager()::contains);
+	}
+	
+	@Test
+	public void deveBuscarLancamentosComUmaUnicaConsultaSemCarregarOUsuario() {
+		//Cenário
+		final Usuario usuario = criarEPersistirUmUsuario(entityManager);
+		for (int i = 0; i < 3; i++) {
+			final Lancamento lancamento = criarLancamento();
+			lancamento.setUsuario(usuario);
+			entityManager.persist(lancamento);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		final Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+		
+		//Ação / Execução
+		final List<LancamentoDTO> lancamentos = repository.buscar(FiltroLancamentoDTO.builder().usuario(usuario.getId()).build(), null, 10)
+														  .stream()
+														  .map(LancamentoDTO::de)
+														  .collect(Collectors.toList());
+		
+		//Verificação
+		assertThat(lancamentos).hasSize(3).allMatch(l -> usuario.getId().equals(l.getUsuario()));
+		assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(estatisticas.getEntityLoadCount()).isEqualTo(3);
+	}
+	
+	@Test
+	public void deveResolverAsConsultasDeLancamentoPelosIndicesDasMigracoes() {
+		//Ação / Execução: os mesmos formatos de LancamentoRepositoryImpl (keyset crescente)
+		final String buscaPorPeriodo = planoDe("select l.id from financas.lancamento l "
+				+ "where l.id_usuario = 1 and l.ano = 2019 and l.mes = 1 and l.id > 100 order by l.id asc fetch first 20 rows only");
+		final String buscaPorTipoEStatus = planoDe("select l.id from financas.lancamento l "
+				+ "where l.id_usuario = 1 and l.tipo = 'RECEITA' and l.status = 'PENDENTE' and l.id > 100 order by l.id asc fetch first 20 rows only");
+		
+		//Verificação
+		assertThat(buscaPorPeriodo).containsIgnoringCase("idx_lancamento_usuario_ano_mes");
+		assertThat(buscaPorTipoEStatus).containsIgnoringCase("idx_lancamento_usuario_tipo_status");
+	}
+	
+	private String planoDe(final String sql) {
+		return entityManager.getEntityManager().createNativeQuery("explain " + sql).getSingleResult().toString();
+	}
 }
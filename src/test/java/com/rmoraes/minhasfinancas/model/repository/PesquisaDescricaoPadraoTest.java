@@ -0,0 +1,79 @@
+package com.rmoraes.minhasfinancas.model.repository;
+
+import static com.rmoraes.minhasfinancas.utils.TestUtils.criarEPersistirUmUsuario;
+import static com.rmoraes.minhasfinancas.utils.TestUtils.criarLancamento;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(PesquisaDescricaoPadrao.class)
+public class PesquisaDescricaoPadraoTest {
+
+	@Autowired
+	private PesquisaDescricao pesquisa;
+	
+	@Autowired
+	private TestEntityManager entityManager;
+	
+	@Test
+	public void devePesquisarPorPrefixoSemDiferenciarAcentosOrdenandoPelaRelevancia() {
+		//Cenário
+		final Usuario usuario = criarEPersistirUmUsuario(entityManager);
+		final Lancamento carro = persistir(usuario, "Manutenção do carro");
+		final Lancamento abreviado = persistir(usuario, "Manut. de calçada");
+		final Lancamento casa = persistir(usuario, "Manutenção da casa");
+		persistir(usuario, "Salário");
+		final Lancamento calcada = persistir(usuario, "MANUTENCAO CALCADA");
+		
+		//Ação / Execução
+		final List<Long> ids = pesquisa.pesquisar(usuario.getId(), "manutencao  calç", 10);
+		
+		//Verificação
+		assertThat(ids).containsExactly(calcada.getId());
+		// a palavra igual ao termo vem antes dos prefixos; no empate, o mais recente primeiro
+		assertThat(pesquisa.pesquisar(usuario.getId(), "manut", 10))
+			.containsExactly(abreviado.getId(), calcada.getId(), casa.getId(), carro.getId());
+	}
+	
+	@Test
+	public void naoDeveRetornarLancamentosDeOutroUsuarioNemPassarDoLimite() {
+		//Cenário
+		final Usuario usuario = criarEPersistirUmUsuario(entityManager);
+		final Usuario outroUsuario = entityManager.persist(Usuario.builder().nome("outro").email("outro@email.com").senha("senha").build());
+		persistir(usuario, "Conta de luz");
+		final Lancamento maisRecente = persistir(usuario, "Conta de água");
+		persistir(outroUsuario, "Conta de luz");
+		
+		//Ação / Execução
+		final List<Long> ids = pesquisa.pesquisar(usuario.getId(), "conta", 1);
+		
+		//Verificação
+		assertThat(ids).containsExactly(maisRecente.getId());
+	}
+	
+	private Lancamento persistir(final Usuario usuario, final String descricao) {
+		final Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setDescricao(descricao);
+		return entityManager.persist(lancamento);
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.rmoraes.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+import com.rmoraes.minhasfinancas.model.entity.Saldo;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class SaldoRepositoryTest {
+
+	@Autowired
+	private SaldoRepository repository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	public void deveCriarOSaldoDoPeriodoAoAcumularAPrimeiraContribuicao() {
+		//Cenário
+		final Saldo contribuicao = new Saldo(1l, 2019, 1, Dinheiro.reais(10), Dinheiro.ZERO);
+
+		//Ação / Execução
+		repository.acumular(contribuicao);
+
+		//Verificação
+		final List<Saldo> saldos = repository.findByIdUsuario(1l);
+		assertThat(saldos).hasSize(1);
+		assertThat(saldos.get(0).getReceitas()).isEqualTo(Dinheiro.reais(10));
+		assertThat(saldos.get(0).getDespesas()).isEqualTo(Dinheiro.ZERO);
+	}
+
+	@Test
+	public void deveSomarAoSaldoExistenteDoPeriodoAoAcumular() {
+		//Cenário
+		entityManager.persist(new Saldo(1l, 2019, 1, Dinheiro.reais(10), Dinheiro.reais(1)));
+		entityManager.persist(new Saldo(1l, 2019, 2, Dinheiro.reais(5), Dinheiro.ZERO));
+		entityManager.flush();
+
+		//Ação / Execução
+		repository.acumular(new Saldo(1l, 2019, 1, Dinheiro.reais(-10), Dinheiro.deCentavos(50)));
+		entityManager.clear();
+
+		//Verificação
+		final List<Saldo> saldos = repository.findByIdUsuario(1l);
+		assertThat(saldos).hasSize(2);
+		assertThat(saldos).filteredOn(saldo -> saldo.getMes() == 1).singleElement()
+						  .extracting(Saldo::calcularSaldo).isEqualTo(Dinheiro.deCentavos(-150));
+		assertThat(repository.obterSaldoPorUsuario(1l)).isEqualByComparingTo("3.50");
+		assertThat(repository.obterSaldoPorUsuarioEAno(1l, 2019)).isEqualByComparingTo("3.50");
+		assertThat(repository.obterSaldoPorUsuarioEAno(1l, 2020)).isNull();
+	}
+
+}
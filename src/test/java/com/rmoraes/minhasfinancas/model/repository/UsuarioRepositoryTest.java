@@ -4,9 +4,14 @@ import static com.rmoraes.minhasfinancas.utils.TestUtils.EMAIL;
 import static com.rmoraes.minhasfinancas.utils.TestUtils.criarEPersistirUmUsuario;
 import static com.rmoraes.minhasfinancas.utils.TestUtils.criarUsuario;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 import java.util.Optional;
 
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,14 +19,17 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.rmoraes.minhasfinancas.model.entity.Usuario;
 
 @RunWith(SpringRunner.class)
 @ActiveProfiles("test")
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureTestDatabase(replace = Replace.NONE)
 public class UsuarioRepositoryTest {
 	
@@ -30,6 +38,9 @@ public class UsuarioRepositoryTest {
 	
 	@Autowired
 	private TestEntityManager entityManager;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
 
 	@Test
 	public void deveVerificarAExistenciaDeUmEmail() {
@@ -61,6 +72,18 @@ public class UsuarioRepositoryTest {
 		assertThat(usuarioSalvo.getId()).isNotNull();
 	}
 	
+	@Test
+	public void naoDevePersistirDoisUsuariosComOMesmoEmail() {
+		//Cenário
+		criarEPersistirUmUsuario(entityManager);
+		
+		//Ação / Execução
+		final Throwable exception = catchThrowable(() -> repository.save(criarUsuario()));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(DataIntegrityViolationException.class);
+	}
+	
 	@Test
 	public void deveBuscarUmUsuarioPorEmail() {
 		//Cenário
@@ -81,5 +104,37 @@ public class UsuarioRepositoryTest {
 		//Verificação
 		assertThat(result.isPresent()).isFalse();
 	}
+	
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void deveObterUsuarioDoCacheDeSegundoNivel() {
+		//Cenário
+		final Usuario usuario = repository.save(criarUsuario());
+		repository.findById(usuario.getId());
+		final Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+		
+		//Ação / Execução
+		final Optional<Usuario> result = repository.findById(usuario.getId());
+		final long acertos = estatisticas.getSecondLevelCacheHitCount();
+		final long consultas = estatisticas.getPrepareStatementCount();
+		repository.delete(usuario);
+		
+		//Verificação
+		assertThat(result.isPresent()).isTrue();
+		assertThat(acertos).isEqualTo(1);
+		assertThat(consultas).isZero();
+	}
+	
+	@Test
+	public void deveBuscarUsuarioPorEmailPeloIndiceUnico() {
+		//Ação / Execução
+		final String plano = entityManager.getEntityManager()
+				.createNativeQuery("explain select u.id from financas.usuario u where u.email = 'usuario@email.com'")
+				.getSingleResult().toString();
+		
+		//Verificação
+		assertThat(plano).containsIgnoringCase("uk_usuario_email");
+	}
 
 }
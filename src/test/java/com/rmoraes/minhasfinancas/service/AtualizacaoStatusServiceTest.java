@@ -0,0 +1,159 @@
+package com.rmoraes.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.rmoraes.minhasfinancas.exception.RegraNegocioException;
+import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
+import com.rmoraes.minhasfinancas.model.repository.LancamentoRepository;
+import com.rmoraes.minhasfinancas.service.impl.AtualizacaoStatusServiceImpl;
+import com.rmoraes.minhasfinancas.service.impl.VersoesUsuario;
+
+public class AtualizacaoStatusServiceTest {
+	
+	private final LancamentoRepository repository = mock(LancamentoRepository.class);
+	private final AtualizacaoStatusServiceImpl service = 
+			new AtualizacaoStatusServiceImpl(repository, mock(VersoesUsuario.class), mock(PlatformTransactionManager.class), 2, 500, 50, 10);
+	
+	@Before
+	public void existentes() {
+		when(repository.obterExistentes(anyCollection())).thenAnswer(invocacao -> new ArrayList<>(invocacao.<Collection<Long>>getArgument(0)));
+	}
+	
+	@After
+	public void encerrar() throws InterruptedException {
+		service.encerrar();
+	}
+	
+	@Test
+	public void deveAgruparAsAlteracoesPorStatusMantendoAUltimaDeCadaLancamento() throws Exception {
+		//Cenário
+		service.iniciar();
+		
+		//Ação / Execução
+		final CompletableFuture<Void> primeira = service.agendar(1l, StatusLancamento.CANCELADO);
+		final CompletableFuture<Void> segunda = service.agendar(1l, StatusLancamento.EFETIVADO);
+		CompletableFuture.allOf(primeira, segunda).get(5, TimeUnit.SECONDS);
+		
+		//Verificação
+		verify(repository).atualizarStatus(Collections.singletonList(1l), StatusLancamento.EFETIVADO);
+		verify(repository, times(1)).atualizarStatus(anyCollection(), any(StatusLancamento.class));
+	}
+	
+	@Test
+	public void deveGravarUmComandoPorStatus() throws Exception {
+		//Cenário
+		final AtualizacaoStatusServiceImpl service = 
+				new AtualizacaoStatusServiceImpl(repository, mock(VersoesUsuario.class), mock(PlatformTransactionManager.class), 10, 500, 200, 10);
+		service.iniciar();
+		
+		//Ação / Execução
+		CompletableFuture.allOf(
+				service.agendar(1l, StatusLancamento.EFETIVADO),
+				service.agendar(2l, StatusLancamento.CANCELADO),
+				service.agendar(3l, StatusLancamento.EFETIVADO)).get(5, TimeUnit.SECONDS);
+		service.encerrar();
+		
+		//Verificação
+		verify(repository).atualizarStatus(Arrays.asList(1l, 3l), StatusLancamento.EFETIVADO);
+		verify(repository).atualizarStatus(Collections.singletonList(2l), StatusLancamento.CANCELADO);
+	}
+	
+	@Test
+	public void deveRecusarAlteracoesQuandoAFilaEstiverCheia() throws Exception {
+		//Cenário: o gravador fica preso no primeiro lote enquanto a fila (capacidade 2) enche
+		final CountDownLatch gravando = new CountDownLatch(1);
+		final CountDownLatch liberar = new CountDownLatch(1);
+		when(repository.atualizarStatus(anyCollection(), any(StatusLancamento.class))).thenAnswer(invocacao -> {
+			gravando.countDown();
+			liberar.await();
+			return 1;
+		});
+		service.iniciar();
+		service.agendar(1l, StatusLancamento.EFETIVADO);
+		gravando.await(5, TimeUnit.SECONDS);
+		service.agendar(2l, StatusLancamento.EFETIVADO);
+		service.agendar(3l, StatusLancamento.EFETIVADO);
+		
+		//Ação / Execução
+		final Throwable exception = catchThrowable(() -> service.agendar(4l, StatusLancamento.EFETIVADO));
+		liberar.countDown();
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage("Fila de atualização de status cheia. Tente novamente.");
+	}
+	
+	@Test
+	public void deveConcluirComErroQuandoAGravacaoFalhar() throws Exception {
+		//Cenário
+		when(repository.atualizarStatus(anyCollection(), eq(StatusLancamento.EFETIVADO))).thenThrow(new IllegalStateException("falha"));
+		service.iniciar();
+		
+		//Ação / Execução
+		final CompletableFuture<Void> alteracao = service.agendar(1l, StatusLancamento.EFETIVADO);
+		final Throwable exception = catchThrowable(() -> alteracao.get(5, TimeUnit.SECONDS));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalStateException.class);
+	}
+	
+	@Test
+	public void deveConcluirComErroAsAlteracoesDeLancamentosInexistentes() throws Exception {
+		//Cenário
+		when(repository.obterExistentes(anyCollection())).thenReturn(Collections.singletonList(1l));
+		final AtualizacaoStatusServiceImpl service = 
+				new AtualizacaoStatusServiceImpl(repository, mock(VersoesUsuario.class), mock(PlatformTransactionManager.class), 10, 500, 200, 10);
+		service.iniciar();
+		
+		//Ação / Execução
+		final CompletableFuture<Void> existente = service.agendar(1l, StatusLancamento.EFETIVADO);
+		final CompletableFuture<Void> inexistente = service.agendar(2l, StatusLancamento.EFETIVADO);
+		final Throwable exception = catchThrowable(() -> inexistente.get(5, TimeUnit.SECONDS));
+		existente.get(5, TimeUnit.SECONDS);
+		service.encerrar();
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(ExecutionException.class)
+							 .cause().isInstanceOf(RegraNegocioException.class)
+							 .hasMessage("Lançamento não encontrado para o id 2.");
+		verify(repository).atualizarStatus(Collections.singletonList(1l), StatusLancamento.EFETIVADO);
+	}
+	
+	@Test
+	public void naoDeveGravarQuandoNenhumLancamentoExistir() throws Exception {
+		//Cenário
+		when(repository.obterExistentes(anyCollection())).thenReturn(Collections.emptyList());
+		service.iniciar();
+		
+		//Ação / Execução
+		final CompletableFuture<Void> alteracao = service.agendar(1l, StatusLancamento.EFETIVADO);
+		final Throwable exception = catchThrowable(() -> alteracao.get(5, TimeUnit.SECONDS));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(RegraNegocioException.class);
+		verify(repository, never()).atualizarStatus(anyCollection(), any(StatusLancamento.class));
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.rmoraes.minhasfinancas.service;
+
+import static com.rmoraes.minhasfinancas.utils.TestUtils.EMAIL;
+import static com.rmoraes.minhasfinancas.utils.TestUtils.SENHA;
+import static com.rmoraes.minhasfinancas.utils.TestUtils.criarUsuario;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.service.impl.CredenciaisVerificadas;
+
+public class CredenciaisVerificadasTest {
+	
+	private final CredenciaisVerificadas credenciais = new CredenciaisVerificadas(60, 10);
+	
+	@Test
+	public void deveObterUsuarioSomenteComASenhaVerificada() {
+		//Cenário
+		final Usuario usuario = criarUsuario();
+		credenciais.registrar(usuario, SENHA);
+		
+		//Verificação
+		assertThat(credenciais.obter(EMAIL, SENHA)).isSameAs(usuario);
+		assertThat(credenciais.obter(EMAIL, "outra")).isNull();
+		assertThat(credenciais.obter("outro@email.com", SENHA)).isNull();
+	}
+	
+	@Test
+	public void naoDeveObterUsuarioInvalidado() {
+		//Cenário
+		credenciais.registrar(criarUsuario(), SENHA);
+		
+		//Ação / Execução
+		credenciais.invalidar(EMAIL);
+		
+		//Verificação
+		assertThat(credenciais.obter(EMAIL, SENHA)).isNull();
+	}
+
+}
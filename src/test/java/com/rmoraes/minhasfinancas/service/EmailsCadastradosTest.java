@@ -0,0 +1,69 @@
+package com.rmoraes.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.rmoraes.minhasfinancas.model.repository.UsuarioRepository;
+import com.rmoraes.minhasfinancas.service.impl.EmailsCadastrados;
+
+public class EmailsCadastradosTest {
+	
+	private final UsuarioRepository repository = mock(UsuarioRepository.class);
+	private final EmailsCadastrados emails = new EmailsCadastrados(repository, mock(PlatformTransactionManager.class), 1000, 0.01);
+	
+	@Test
+	public void deveConsiderarQualquerEmailAntesDoAquecimento() {
+		//Verificação
+		assertThat(emails.podeExistir("novo@email.com")).isTrue();
+	}
+	
+	@Test
+	public void naoDeveTerFalsosNegativosAposOAquecimento() {
+		//Cenário
+		when(repository.obterEmails()).thenReturn(IntStream.range(0, 500).mapToObj(i -> "usuario" + i + "@email.com"));
+		
+		//Ação / Execução
+		emails.aquecer();
+		emails.registrar("cadastrado@email.com");
+		
+		//Verificação
+		assertThat(IntStream.range(0, 500).mapToObj(i -> "usuario" + i + "@email.com")).allMatch(emails::podeExistir);
+		assertThat(emails.podeExistir("cadastrado@email.com")).isTrue();
+	}
+	
+	@Test
+	public void deveDescartarAMaiorParteDosEmailsNovos() {
+		//Cenário
+		when(repository.obterEmails()).thenReturn(IntStream.range(0, 1000).mapToObj(i -> "usuario" + i + "@email.com"));
+		emails.aquecer();
+		
+		//Ação / Execução
+		final long falsosPositivos = IntStream.range(0, 10_000)
+											  .mapToObj(i -> "novo" + i + "@email.com")
+											  .filter(emails::podeExistir)
+											  .count();
+		
+		//Verificação
+		assertThat(falsosPositivos).isLessThan(300);
+	}
+	
+	@Test
+	public void deveAquecerComBancoVazio() {
+		//Cenário
+		when(repository.obterEmails()).thenReturn(Stream.empty());
+		
+		//Ação / Execução
+		emails.aquecer();
+		
+		//Verificação
+		assertThat(emails.podeExistir("novo@email.com")).isFalse();
+	}
+
+}
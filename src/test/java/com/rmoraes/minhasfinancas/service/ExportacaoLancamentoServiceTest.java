@@ -0,0 +1,84 @@
+package com.rmoraes.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rmoraes.minhasfinancas.api.dto.FiltroLancamentoDTO;
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.enums.FormatoExportacao;
+import com.rmoraes.minhasfinancas.model.repository.LancamentoRepository;
+import com.rmoraes.minhasfinancas.service.impl.ExportacaoLancamentoServiceImpl;
+import com.rmoraes.minhasfinancas.utils.TestUtils;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@Import({ExportacaoLancamentoServiceImpl.class, ObjectMapper.class})
+public class ExportacaoLancamentoServiceTest {
+
+	@MockitoSpyBean
+	private ExportacaoLancamentoServiceImpl service;
+	
+	@MockitoSpyBean
+	private ObjectMapper objectMapper;
+	
+	@MockitoBean
+	private LancamentoRepository repository;
+	
+	@Test
+	public void deveExportarLancamentosEmCsv() throws Exception {
+		//Cenário
+		final FiltroLancamentoDTO filtro = FiltroLancamentoDTO.builder().usuario(1l).build();
+		final Lancamento lancamento = TestUtils.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setDescricao("Aluguel; janeiro");
+		when(repository.exportar(filtro)).thenReturn(Stream.of(lancamento));
+		final ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		
+		//Ação / Execução
+		service.exportar(filtro, FormatoExportacao.CSV, saida);
+		
+		//Verificação
+		final String[] linhas = new String(saida.toByteArray(), StandardCharsets.UTF_8).split("\n");
+		assertThat(linhas).hasSize(2);
+		assertThat(linhas[0]).isEqualTo("id;descricao;mes;ano;valor;tipo;status;data_cadastro");
+		assertThat(linhas[1]).isEqualTo("1;\"Aluguel; janeiro\";1;2019;10.00;RECEITA;PENDENTE;");
+		verify(repository).desanexar(lancamento);
+	}
+	
+	@Test
+	public void deveExportarUmLancamentoPorLinhaEmNdjson() throws Exception {
+		//Cenário
+		final FiltroLancamentoDTO filtro = FiltroLancamentoDTO.builder().usuario(1l).build();
+		final Lancamento primeiro = TestUtils.criarLancamento();
+		primeiro.setId(1l);
+		final Lancamento segundo = TestUtils.criarLancamento();
+		segundo.setId(2l);
+		when(repository.exportar(filtro)).thenReturn(Stream.of(primeiro, segundo));
+		final ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		
+		//Ação / Execução
+		service.exportar(filtro, FormatoExportacao.NDJSON, saida);
+		
+		//Verificação
+		final String[] linhas = new String(saida.toByteArray(), StandardCharsets.UTF_8).split("\n");
+		assertThat(linhas).hasSize(2);
+		assertThat(objectMapper.readTree(linhas[1]).get("id").asLong()).isEqualTo(2l);
+		verify(repository).desanexar(primeiro);
+		verify(repository).desanexar(segundo);
+	}
+
+}
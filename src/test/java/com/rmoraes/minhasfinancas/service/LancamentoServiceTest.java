@@ -4,12 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
@@ -19,31 +21,56 @@ import java.util.Optional;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.rmoraes.minhasfinancas.api.dto.FiltroLancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.LancamentoDTO;
+import com.rmoraes.minhasfinancas.api.dto.PaginaDTO;
+import com.rmoraes.minhasfinancas.api.dto.ResultadoLoteDTO;
+import com.rmoraes.minhasfinancas.api.dto.ResumoLancamentoDTO;
 import com.rmoraes.minhasfinancas.exception.RegraNegocioException;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
 import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.entity.Saldo;
 import com.rmoraes.minhasfinancas.model.entity.Usuario;
 import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
 import com.rmoraes.minhasfinancas.model.enums.TipoLancamento;
 import com.rmoraes.minhasfinancas.model.repository.LancamentoRepository;
+import com.rmoraes.minhasfinancas.model.repository.PesquisaDescricao;
 import com.rmoraes.minhasfinancas.service.impl.LancamentoServiceImpl;
+import com.rmoraes.minhasfinancas.service.impl.VersoesUsuario;
 import com.rmoraes.minhasfinancas.utils.TestUtils;
 
 @RunWith(SpringRunner.class)
 @ActiveProfiles("test")
+@Import(LancamentoServiceImpl.class)
 public class LancamentoServiceTest {
 
-	@SpyBean
+	@MockitoSpyBean
 	private LancamentoServiceImpl service;
 	
-	@MockBean
+	@MockitoBean
 	private LancamentoRepository repository;
 	
+	@MockitoBean
+	private PesquisaDescricao pesquisaDescricao;
+	
+	@MockitoBean
+	private SaldoService saldoService;
+	
+	@MockitoBean
+	private VersoesUsuario versoesUsuario;
+	
+	@MockitoBean
+	private PlatformTransactionManager transactionManager;
+	
 	@Test
 	public void deveSalvarUmLancamentoComSucesso() {
 		//Cenário
@@ -53,6 +80,7 @@ public class LancamentoServiceTest {
 		final Lancamento lancamentoSalvo = TestUtils.criarLancamento();
 		lancamentoSalvo.setId(1l);
 		lancamentoSalvo.setStatus(StatusLancamento.PENDENTE);
+		lancamentoSalvo.setUsuario(Usuario.builder().id(1l).build());
 		when(repository.save(lancamentoASalvar)).thenReturn(lancamentoSalvo);
 		
 		//Ação / Execução
@@ -70,17 +98,69 @@ public class LancamentoServiceTest {
 		doThrow(RegraNegocioException.class).when(service).validar(lancamento);
 		
 		//Ação / Execução
-		catchThrowableOfType(() -> service.salvar(lancamento), RegraNegocioException.class);
+		catchThrowableOfType(RegraNegocioException.class, () -> service.salvar(lancamento));
 		
 		//Verificação
 		verify(repository, never()).save(lancamento);
 	}
 	
+	@SuppressWarnings("unchecked")
+	@Test
+	public void deveSalvarEmLoteSomenteOsLancamentosValidos() {
+		//Cenário
+		final Usuario usuario = Usuario.builder().id(1l).build();
+		final Lancamento primeiro = TestUtils.criarLancamento();
+		primeiro.setUsuario(usuario);
+		final Lancamento invalido = TestUtils.criarLancamento();
+		invalido.setUsuario(usuario);
+		invalido.setMes(13);
+		final Lancamento terceiro = TestUtils.criarLancamento();
+		terceiro.setUsuario(usuario);
+		when(repository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		
+		//Ação / Execução
+		final ResultadoLoteDTO resultado = service.salvarEmLote(Arrays.asList(primeiro, invalido, terceiro));
+		
+		//Verificação
+		assertThat(resultado.getSalvos()).isEqualTo(2);
+		assertThat(resultado.getErros()).hasSize(1);
+		assertThat(resultado.getErros().get(0).getIndice()).isEqualTo(1);
+		assertThat(resultado.getErros().get(0).getMensagem()).isEqualTo("Informe um mês válido.");
+		assertThat(primeiro.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		verify(saldoService).somarEmLote(Arrays.asList(Saldo.de(primeiro), Saldo.de(terceiro)));
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Test
+	public void deveSalvarUmAUmQuandoOLoteFalharNoBancoDeDados() {
+		//Cenário
+		final Lancamento valido = TestUtils.criarLancamento();
+		valido.setUsuario(Usuario.builder().id(1l).build());
+		final Lancamento usuarioInexistente = TestUtils.criarLancamento();
+		usuarioInexistente.setUsuario(Usuario.builder().id(99l).build());
+		when(repository.saveAll(any(List.class))).thenAnswer(invocation -> {
+			final List<Lancamento> lote = invocation.getArgument(0);
+			if(lote.stream().anyMatch(lancamento -> lancamento == usuarioInexistente)) {
+				throw new DataIntegrityViolationException("fk_usuario");
+			}
+			return lote;
+		});
+		
+		//Ação / Execução
+		final ResultadoLoteDTO resultado = service.salvarEmLote(Arrays.asList(valido, usuarioInexistente));
+		
+		//Verificação
+		assertThat(resultado.getSalvos()).isEqualTo(1);
+		assertThat(resultado.getErros()).hasSize(1);
+		assertThat(resultado.getErros().get(0).getIndice()).isEqualTo(1);
+	}
+	
 	@Test
 	public void deveAtualizarUmLancamentoComSucesso() {
 		//Cenário
 		final Lancamento lancamento = TestUtils.criarLancamento();
 		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
 		doNothing().when(service).validar(lancamento);
 		when(repository.save(lancamento)).thenReturn(lancamento);
 		
@@ -91,13 +171,65 @@ public class LancamentoServiceTest {
 		verify(repository, times(1)).save(lancamento);
 	}
 	
+	@Test
+	public void deveAtualizarParcialmenteSomenteOsCamposInformadosSemMexerNoSaldo() {
+		//Cenário
+		final Lancamento lancamento = TestUtils.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		when(repository.findById(1l)).thenReturn(Optional.of(lancamento));
+		
+		//Ação / Execução
+		final Lancamento atualizado = service.atualizarParcialmente(1l, LancamentoDTO.builder().descricao("Nova descrição").build());
+		
+		//Verificação
+		assertThat(atualizado.getDescricao()).isEqualTo("Nova descrição");
+		assertThat(atualizado.getValor()).isEqualTo(Dinheiro.reais(10));
+		assertThat(atualizado.getTipo()).isEqualTo(TipoLancamento.RECEITA);
+		verify(repository, never()).save(any(Lancamento.class));
+		verify(saldoService, never()).substituir(any(Saldo.class), any(Saldo.class));
+	}
+	
+	@Test
+	public void deveSubstituirAContribuicaoAoAtualizarParcialmenteOValor() {
+		//Cenário
+		final Lancamento lancamento = TestUtils.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		final Saldo contribuicaoAnterior = Saldo.de(lancamento);
+		when(repository.findById(1l)).thenReturn(Optional.of(lancamento));
+		
+		//Ação / Execução
+		service.atualizarParcialmente(1l, LancamentoDTO.builder().valor(BigDecimal.ONE).tipo("DESPESA").build());
+		
+		//Verificação
+		verify(saldoService).substituir(contribuicaoAnterior, new Saldo(1l, 2019, 1, Dinheiro.ZERO, Dinheiro.reais(1)));
+	}
+	
+	@Test
+	public void naoDeveAtualizarParcialmenteComValorInvalido() {
+		//Cenário
+		final Lancamento lancamento = TestUtils.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		when(repository.findById(1l)).thenReturn(Optional.of(lancamento));
+		
+		//Ação / Execução
+		final Throwable exception = catchThrowable(() -> 
+				service.atualizarParcialmente(1l, LancamentoDTO.builder().valor(BigDecimal.ZERO).build()));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um valor válido.");
+		verify(saldoService, never()).substituir(any(Saldo.class), any(Saldo.class));
+	}
+	
 	@Test
 	public void deveLancarErroAoTentarAtualizarLancamentoQueAindaNaoFoiSalvo() {
 		//Cenário
 		final Lancamento lancamento = TestUtils.criarLancamento();
 		
 		//Ação / Execução
-		catchThrowableOfType(() -> service.atualizar(lancamento), NullPointerException.class);
+		catchThrowableOfType(NullPointerException.class, () -> service.atualizar(lancamento));
 		
 		//Verificação
 		verify(repository, never()).save(lancamento);
@@ -122,27 +254,118 @@ public class LancamentoServiceTest {
 		final Lancamento lancamento = TestUtils.criarLancamento();
 		
 		//Ação / Execução
-		catchThrowableOfType(() -> service.deletar(lancamento), NullPointerException.class);
+		catchThrowableOfType(NullPointerException.class, () -> service.deletar(lancamento));
 		
 		//Verificação
 		verify(repository, never()).delete(lancamento);
 	}
 	
-	@SuppressWarnings("unchecked")
 	@Test
 	public void deveFiltrarLancamentos() {
 		//Cenário
 		final Lancamento lancamento = TestUtils.criarLancamento();
 		lancamento.setId(1l);
+		final FiltroLancamentoDTO filtro = FiltroLancamentoDTO.builder().usuario(1l).build();
 		
 		final List<Lancamento> lancamentos = Arrays.asList(lancamento);
-		when(repository.findAll(any(Example.class))).thenReturn(lancamentos);
+		when(repository.buscar(filtro, null, 51)).thenReturn(lancamentos);
+		
+		//Ação / Execução
+		final PaginaDTO<Lancamento> result = service.buscar(filtro, null, null);
+		
+		//Verificação
+		assertThat(result.getConteudo()).isNotEmpty().hasSize(1).contains(lancamento);
+		assertThat(result.getProximoCursor()).isNull();
+	}
+	
+	@Test
+	public void deveRetornarCursorParaAProximaPaginaQuandoHouverMaisLancamentos() {
+		//Cenário
+		final Lancamento primeiro = TestUtils.criarLancamento();
+		primeiro.setId(1l);
+		final Lancamento segundo = TestUtils.criarLancamento();
+		segundo.setId(2l);
+		final FiltroLancamentoDTO filtro = FiltroLancamentoDTO.builder().usuario(1l).build();
+		when(repository.buscar(filtro, null, 2)).thenReturn(Arrays.asList(primeiro, segundo));
+		
+		//Ação / Execução
+		final PaginaDTO<Lancamento> pagina = service.buscar(filtro, null, 1);
+		service.buscar(filtro, pagina.getProximoCursor(), 1);
+		
+		//Verificação
+		assertThat(pagina.getConteudo()).containsExactly(primeiro);
+		assertThat(pagina.getProximoCursor()).isNotNull();
+		verify(repository).buscar(filtro, 1l, 2);
+	}
+	
+	@Test
+	public void deveLancarErroAoBuscarComCursorInvalido() {
+		//Cenário
+		final FiltroLancamentoDTO filtro = FiltroLancamentoDTO.builder().usuario(1l).build();
+		
+		//Ação / Execução
+		final Throwable exception = catchThrowable(() -> service.buscar(filtro, "***", null));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage("Cursor inválido.");
+	}
+	
+	@Test
+	public void devePesquisarLancamentosMantendoAOrdemDeRelevancia() {
+		//Cenário
+		final Lancamento primeiro = TestUtils.criarLancamento();
+		primeiro.setId(1l);
+		final Lancamento segundo = TestUtils.criarLancamento();
+		segundo.setId(2l);
+		when(pesquisaDescricao.pesquisar(1l, "mercado", 20)).thenReturn(Arrays.asList(2l, 1l));
+		when(repository.findAllById(Arrays.asList(2l, 1l))).thenReturn(Arrays.asList(primeiro, segundo));
+		
+		//Ação / Execução
+		final List<Lancamento> lancamentos = service.pesquisar(1l, "mercado", null);
+		
+		//Verificação
+		assertThat(lancamentos).containsExactly(segundo, primeiro);
+	}
+	
+	@Test
+	public void naoDevePesquisarSemTexto() {
+		//Cenário
+		//Ação / Execução
+		final Throwable exception = catchThrowable(() -> service.pesquisar(1l, " - ", null));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um texto para pesquisa.");
+		verify(pesquisaDescricao, never()).pesquisar(any(), any(), anyInt());
+	}
+	
+	@Test
+	public void deveCalcularOSaldoAcumuladoDoResumo() {
+		//Cenário
+		when(repository.obterResumoPorUsuarioEAno(1l, 2019)).thenReturn(Arrays.asList(
+				new ResumoLancamentoDTO(2019, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(100), 2l),
+				new ResumoLancamentoDTO(2019, 1, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(30), 1l),
+				new ResumoLancamentoDTO(2019, 2, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(50), 3l)));
 		
 		//Ação / Execução
-		final List<Lancamento> result = service.buscar(lancamento);
+		final List<ResumoLancamentoDTO> resumo = service.obterResumo(1l, 2019, true);
 		
 		//Verificação
-		assertThat(result).isNotEmpty().hasSize(1).contains(lancamento);
+		assertThat(resumo).extracting(ResumoLancamentoDTO::getSaldoAcumulado)
+						  .containsExactly(Dinheiro.reais(100), Dinheiro.reais(70), Dinheiro.reais(20));
+	}
+	
+	@Test
+	public void naoDeveCalcularOSaldoAcumuladoQuandoNaoSolicitado() {
+		//Cenário
+		when(repository.obterResumoPorUsuario(1l)).thenReturn(Arrays.asList(
+				new ResumoLancamentoDTO(2019, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(10), 1l)));
+		
+		//Ação / Execução
+		final List<ResumoLancamentoDTO> resumo = service.obterResumo(1l, null, false);
+		
+		//Verificação
+		assertThat(resumo).hasSize(1);
+		assertThat(resumo.get(0).getSaldoAcumulado()).isNull();
 	}
 	
 	@Test
@@ -163,6 +386,61 @@ public class LancamentoServiceTest {
 		verify(service).atualizar(lancamento);
 	}
 	
+	@Test
+	public void deveRepetirAAtualizacaoDeStatusAposConflitoDeVersao() {
+		//Cenário
+		final Lancamento lido = TestUtils.criarLancamento();
+		lido.setId(1l);
+		final Lancamento relido = TestUtils.criarLancamento();
+		relido.setId(1l);
+		relido.setUsuario(Usuario.builder().id(1l).build());
+		when(repository.findById(1l)).thenReturn(Optional.of(lido), Optional.of(relido));
+		doThrow(new ObjectOptimisticLockingFailureException(Lancamento.class, 1l)).doNothing().when(repository).flush();
+		
+		//Ação / Execução
+		final Lancamento lancamento = service.atualizarStatus(1l, StatusLancamento.EFETIVADO);
+		
+		//Verificação
+		assertThat(lancamento).isSameAs(relido);
+		assertThat(lancamento.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		verify(repository, times(2)).findById(1l);
+		verifyNoInteractions(saldoService);
+		verify(versoesUsuario).alterar(1l);
+	}
+	
+	@Test
+	public void deveDesistirDaAtualizacaoDeStatusAposOLimiteDeTentativas() {
+		//Cenário
+		final Lancamento lancamento = TestUtils.criarLancamento();
+		lancamento.setId(1l);
+		when(repository.findById(1l)).thenReturn(Optional.of(lancamento));
+		doThrow(new ObjectOptimisticLockingFailureException(Lancamento.class, 1l)).when(repository).flush();
+		
+		//Ação / Execução
+		final Throwable exception = catchThrowable(() -> service.atualizarStatus(1l, StatusLancamento.EFETIVADO));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		verify(repository, times(3)).findById(1l);
+	}
+	
+	@Test
+	public void naoDeveAtualizarParcialmenteUmaVersaoDesatualizada() {
+		//Cenário
+		final Lancamento lancamento = TestUtils.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setVersao(2l);
+		when(repository.findById(1l)).thenReturn(Optional.of(lancamento));
+		
+		//Ação / Execução
+		final Throwable exception = catchThrowable(() -> 
+				service.atualizarParcialmente(1l, LancamentoDTO.builder().descricao("Nova descrição").versao(1l).build()));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		assertThat(lancamento.getDescricao()).isNotEqualTo("Nova descrição");
+	}
+	
 	@Test
 	public void deveObterumLancamentoPorId() {
 		//Cenário
@@ -263,7 +541,7 @@ public class LancamentoServiceTest {
 		assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um valor válido.");
 		
 		//Cenário
-		lancamento.setValor(BigDecimal.ZERO);
+		lancamento.setValor(Dinheiro.ZERO);
 		
 		//Ação / Execução
 		exception = catchThrowable(() -> service.validar(lancamento));
@@ -272,7 +550,7 @@ public class LancamentoServiceTest {
 		assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um valor válido.");
 		
 		//Cenário
-		lancamento.setValor(BigDecimal.TEN);
+		lancamento.setValor(Dinheiro.reais(10));
 		
 		//Ação / Execução
 		exception = catchThrowable(() -> service.validar(lancamento));
@@ -285,15 +563,76 @@ public class LancamentoServiceTest {
 	public void deveObterUmSaldoPorUsuario() {
 		//Cenário
 		final Long id = 1l;
-		final BigDecimal receitas = BigDecimal.ZERO;
-		final BigDecimal despesas = BigDecimal.ZERO;
-		when(repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.RECEITA)).thenReturn(receitas);
-		when(repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.DESPESA)).thenReturn(despesas);
+		when(saldoService.obterSaldoPorUsuario(id)).thenReturn(Dinheiro.ZERO);
+		
+		//Ação / Execução
+		final Dinheiro saldo = service.obterSaldoPorUsuario(id);
+		
+		//Verificação
+		assertThat(saldo).isEqualTo(Dinheiro.ZERO);
+		verify(saldoService).obterSaldoPorUsuario(id);
+	}
+	
+	@Test
+	public void deveSomarAoSaldoAoSalvarUmLancamento() {
+		//Cenário
+		final Lancamento lancamento = TestUtils.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		doNothing().when(service).validar(lancamento);
+		when(repository.save(lancamento)).thenReturn(lancamento);
+		
+		//Ação / Execução
+		service.salvar(lancamento);
+		
+		//Verificação
+		verify(saldoService).somar(Saldo.de(lancamento));
+	}
+	
+	@Test
+	public void deveSubstituirAContribuicaoAnteriorAoAtualizarUmLancamento() {
+		//Cenário
+		final Lancamento lancamento = TestUtils.criarLancamento();
+		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		final Saldo contribuicaoAnterior = new Saldo(1l, 2018, 12, Dinheiro.reais(1), Dinheiro.ZERO);
+		doNothing().when(service).validar(lancamento);
+		when(repository.obterContribuicaoParaSaldo(1l)).thenReturn(Optional.of(contribuicaoAnterior));
+		when(repository.save(lancamento)).thenReturn(lancamento);
+		
+		//Ação / Execução
+		service.atualizar(lancamento);
+		
+		//Verificação
+		verify(saldoService).substituir(contribuicaoAnterior, Saldo.de(lancamento));
+	}
+	
+	@Test
+	public void deveSubtrairDoSaldoAoDeletarUmLancamento() {
+		//Cenário
+		final Lancamento lancamento = TestUtils.criarLancamento();
+		lancamento.setId(1l);
+		final Saldo contribuicao = new Saldo(1l, 2019, 1, Dinheiro.reais(10), Dinheiro.ZERO);
+		when(repository.obterContribuicaoParaSaldo(1l)).thenReturn(Optional.of(contribuicao));
+		
+		//Ação / Execução
+		service.deletar(lancamento);
+		
+		//Verificação
+		verify(saldoService).subtrair(contribuicao);
+	}
+	
+	@Test
+	public void deveInformarSeTodosOsLancamentosPertencemAoUsuario() {
+		//Cenário
+		final List<Long> ids = List.of(1l, 2l);
+		when(repository.obterUsuarios(ids)).thenReturn(List.of(1l), List.of(1l, 2l));
 		
 		//Ação / Execução
-		final BigDecimal saldo = service.obterSaldoPorUsuario(id);
+		final boolean doUsuario = service.pertencemAoUsuario(ids, 1l);
+		final boolean deOutroUsuario = service.pertencemAoUsuario(ids, 1l);
 		
 		//Verificação
-		assertThat(saldo).isEqualTo(BigDecimal.ZERO);
+		assertThat(doUsuario).isTrue();
+		assertThat(deOutroUsuario).isFalse();
 	}
 }
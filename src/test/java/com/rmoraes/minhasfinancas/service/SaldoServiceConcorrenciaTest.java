@@ -0,0 +1,81 @@
+package com.rmoraes.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+import com.rmoraes.minhasfinancas.model.entity.Lancamento;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.model.repository.UsuarioRepository;
+import com.rmoraes.minhasfinancas.utils.TestUtils;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@SpringBootTest
+public class SaldoServiceConcorrenciaTest {
+	
+	private static final int THREADS = 4;
+	private static final int LANCAMENTOS_POR_THREAD = 25;
+	
+	@Autowired
+	private SaldoService saldoService;
+	
+	@Autowired
+	private LancamentoService lancamentoService;
+	
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+	
+	@Test
+	public void naoDevePerderAlteracoesDeSaldoDuranteAReconstrucao() throws Exception {
+		//Cenário
+		final Usuario usuario = TestUtils.criarUsuario();
+		usuario.setEmail(UUID.randomUUID() + "@email.com");
+		usuarioRepository.save(usuario);
+		
+		//Ação / Execução
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		final List<Future<?>> escritas = new ArrayList<>();
+		try {
+			for (int t = 0; t < THREADS; t++) {
+				final int thread = t;
+				escritas.add(executor.submit(() -> {
+					for (int i = 0; i < LANCAMENTOS_POR_THREAD; i++) {
+						final Lancamento lancamento = TestUtils.criarLancamento();
+						lancamento.setUsuario(usuario);
+						lancamento.setMes((thread + i) % 12 + 1);
+						lancamentoService.salvar(lancamento);
+					}
+				}));
+			}
+			while (escritas.stream().anyMatch(escrita -> !escrita.isDone())) {
+				saldoService.reconstruir(usuario.getId());
+			}
+			for (Future<?> escrita : escritas) {
+				escrita.get(1, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		
+		//Verificação
+		assertThat(saldoService.verificar(usuario.getId())).isEmpty();
+		assertThat(saldoService.obterSaldoPorUsuario(usuario.getId()))
+				.isEqualTo(Dinheiro.reais(10 * THREADS * LANCAMENTOS_POR_THREAD));
+	}
+
+}
@@ -0,0 +1,204 @@
+package com.rmoraes.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.rmoraes.minhasfinancas.api.dto.DivergenciaSaldoDTO;
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
+import com.rmoraes.minhasfinancas.model.entity.Saldo;
+import com.rmoraes.minhasfinancas.model.repository.LancamentoRepository;
+import com.rmoraes.minhasfinancas.model.repository.SaldoRepository;
+import com.rmoraes.minhasfinancas.model.repository.UsuarioRepository;
+import com.rmoraes.minhasfinancas.service.impl.SaldoServiceImpl;
+import com.rmoraes.minhasfinancas.service.impl.VersoesUsuario;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@Import(SaldoServiceImpl.class)
+public class SaldoServiceTest {
+
+	@MockitoSpyBean
+	private SaldoServiceImpl service;
+	
+	@MockitoBean
+	private SaldoRepository repository;
+	
+	@MockitoBean
+	private LancamentoRepository lancamentoRepository;
+	
+	@MockitoBean
+	private UsuarioRepository usuarioRepository;
+	
+	@MockitoBean
+	private VersoesUsuario versoesUsuario;
+	
+	@Test
+	public void deveAcumularAContribuicaoNoSaldoDoPeriodo() {
+		//Cenário
+		final Saldo contribuicao = new Saldo(1l, 2019, 1, Dinheiro.reais(10), Dinheiro.ZERO);
+		
+		//Ação / Execução
+		service.somar(contribuicao);
+		
+		//Verificação
+		verify(repository).acumular(contribuicao);
+	}
+	
+	@Test
+	public void deveAcumularAContribuicaoNegadaAoSubtrair() {
+		//Cenário
+		final Saldo contribuicao = new Saldo(1l, 2019, 1, Dinheiro.ZERO, Dinheiro.reais(1));
+		
+		//Ação / Execução
+		service.subtrair(contribuicao);
+		
+		//Verificação
+		verify(repository).acumular(new Saldo(1l, 2019, 1, Dinheiro.ZERO, Dinheiro.reais(-1)));
+	}
+	
+	@Test
+	public void deveAcumularSomenteADiferencaQuandoOPeriodoNaoMuda() {
+		//Cenário
+		final Saldo anterior = new Saldo(1l, 2019, 1, Dinheiro.reais(10), Dinheiro.ZERO);
+		final Saldo atual = new Saldo(1l, 2019, 1, Dinheiro.reais(12), Dinheiro.ZERO);
+		
+		//Ação / Execução
+		service.substituir(anterior, atual);
+		service.substituir(atual, atual);
+		
+		//Verificação
+		verify(repository).acumular(new Saldo(1l, 2019, 1, Dinheiro.reais(2), Dinheiro.ZERO));
+		verifyNoMoreInteractions(repository);
+	}
+	
+	@Test
+	public void deveAcumularOsPeriodosEmOrdemIndependenteDoSentidoDaMudanca() {
+		//Cenário
+		final Saldo janeiro = new Saldo(1l, 2019, 1, Dinheiro.reais(10), Dinheiro.ZERO);
+		final Saldo fevereiro = new Saldo(1l, 2019, 2, Dinheiro.reais(10), Dinheiro.ZERO);
+		
+		//Ação / Execução
+		service.substituir(fevereiro, janeiro);
+		service.substituir(janeiro, fevereiro);
+		
+		//Verificação
+		final InOrder ordem = inOrder(repository);
+		ordem.verify(repository).acumular(janeiro);
+		ordem.verify(repository).acumular(fevereiro.negar());
+		ordem.verify(repository).acumular(janeiro.negar());
+		ordem.verify(repository).acumular(fevereiro);
+	}
+	
+	@Test
+	public void deveAgruparAsContribuicoesDoLotePorPeriodo() {
+		//Cenário
+		final List<Saldo> contribuicoes = Arrays.asList(
+				new Saldo(2l, 2019, 1, Dinheiro.reais(1), Dinheiro.ZERO),
+				new Saldo(1l, 2019, 2, Dinheiro.ZERO, Dinheiro.reais(3)),
+				new Saldo(2l, 2019, 1, Dinheiro.reais(2), Dinheiro.ZERO),
+				new Saldo(1l, 2019, 1, Dinheiro.reais(4), Dinheiro.ZERO));
+		
+		//Ação / Execução
+		service.somarEmLote(contribuicoes);
+		
+		//Verificação
+		final InOrder ordem = inOrder(repository);
+		ordem.verify(repository).acumular(new Saldo(1l, 2019, 1, Dinheiro.reais(4), Dinheiro.ZERO));
+		ordem.verify(repository).acumular(new Saldo(1l, 2019, 2, Dinheiro.ZERO, Dinheiro.reais(3)));
+		ordem.verify(repository).acumular(new Saldo(2l, 2019, 1, Dinheiro.reais(3), Dinheiro.ZERO));
+		verifyNoMoreInteractions(repository);
+	}
+	
+	@Test
+	public void deveRetornarZeroQuandoUsuarioNaoPossuirSaldo() {
+		//Cenário
+		when(repository.obterSaldoPorUsuario(any(Long.class))).thenReturn(null);
+		
+		//Ação / Execução
+		final Dinheiro saldo = service.obterSaldoPorUsuario(1l);
+		
+		//Verificação
+		assertThat(saldo).isEqualTo(Dinheiro.ZERO);
+	}
+	
+	@Test
+	public void deveReportarDivergenciasEntreSaldoArmazenadoECalculado() {
+		//Cenário
+		when(repository.findByIdUsuario(1l)).thenReturn(Arrays.asList(
+				new Saldo(1l, 2019, 1, Dinheiro.reais(10), Dinheiro.ZERO),
+				new Saldo(1l, 2019, 2, Dinheiro.reais(1), Dinheiro.ZERO)));
+		when(lancamentoRepository.calcularSaldosPorUsuario(1l)).thenReturn(Arrays.asList(
+				new Saldo(1l, 2019, 1, Dinheiro.reais(10), Dinheiro.ZERO),
+				new Saldo(1l, 2019, 3, Dinheiro.reais(1), Dinheiro.ZERO)));
+		
+		//Ação / Execução
+		final List<DivergenciaSaldoDTO> divergencias = service.verificar(1l);
+		
+		//Verificação
+		assertThat(divergencias).hasSize(2);
+		assertThat(divergencias).extracting(DivergenciaSaldoDTO::getMes).containsExactlyInAnyOrder(2, 3);
+	}
+	
+	@Test
+	public void naoDeveReportarDivergenciaQuandoSaldosConferem() {
+		//Cenário
+		when(repository.findByIdUsuario(1l)).thenReturn(Collections.singletonList(
+				new Saldo(1l, 2019, 1, Dinheiro.deCentavos(1000), Dinheiro.ZERO)));
+		when(lancamentoRepository.calcularSaldosPorUsuario(1l)).thenReturn(Collections.singletonList(
+				new Saldo(1l, 2019, 1, Dinheiro.reais(10), Dinheiro.ZERO)));
+		
+		//Ação / Execução
+		final List<DivergenciaSaldoDTO> divergencias = service.verificar(1l);
+		
+		//Verificação
+		assertThat(divergencias).isEmpty();
+	}
+	
+	@Test
+	public void deveBloquearOUsuarioAntesDeAlterarOSaldo() {
+		//Cenário
+		final Saldo contribuicao = new Saldo(1l, 2019, 1, Dinheiro.reais(10), Dinheiro.ZERO);
+		
+		//Ação / Execução
+		service.somar(contribuicao);
+		
+		//Verificação
+		final InOrder ordem = inOrder(usuarioRepository, repository);
+		ordem.verify(usuarioRepository).bloquearParaAlterarSaldo(Collections.singleton(1l));
+		ordem.verify(repository).acumular(contribuicao);
+	}
+	
+	@Test
+	public void deveBloquearOUsuarioAntesDeReconstruirOSaldo() {
+		//Cenário
+		final List<Saldo> calculados = Collections.singletonList(new Saldo(1l, 2019, 1, Dinheiro.reais(10), Dinheiro.ZERO));
+		when(lancamentoRepository.calcularSaldosPorUsuario(1l)).thenReturn(calculados);
+		
+		//Ação / Execução
+		service.reconstruir(1l);
+		
+		//Verificação
+		final InOrder ordem = inOrder(usuarioRepository, repository);
+		ordem.verify(usuarioRepository).bloquearParaReconstruirSaldo(1l);
+		ordem.verify(repository).deletarPorUsuario(1l);
+		ordem.verify(repository).saveAll(calculados);
+	}
+
+}
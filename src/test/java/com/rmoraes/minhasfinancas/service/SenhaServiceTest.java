@@ -0,0 +1,39 @@
+package com.rmoraes.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.rmoraes.minhasfinancas.service.impl.SenhaServiceImpl;
+
+public class SenhaServiceTest {
+	
+	private final SenhaServiceImpl service = new SenhaServiceImpl(4, 1, 4, 5000);
+	
+	@After
+	public void encerrar() {
+		service.encerrar();
+	}
+	
+	@Test
+	public void deveConferirASenhaComOHashGerado() {
+		//Ação / Execução
+		final String hash = service.codificar("123456");
+		
+		//Verificação
+		assertThat(hash).isNotEqualTo("123456");
+		assertThat(service.precisaAtualizar(hash)).isFalse();
+		assertThat(service.confere("123456", hash)).isTrue();
+		assertThat(service.confere("654321", hash)).isFalse();
+	}
+	
+	@Test
+	public void deveConferirSenhaLegadaEmTextoPuroEIndicarAtualizacao() {
+		//Verificação
+		assertThat(service.precisaAtualizar("123456")).isTrue();
+		assertThat(service.confere("123456", "123456")).isTrue();
+		assertThat(service.confere("654321", "123456")).isFalse();
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.rmoraes.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.Test;
+
+import com.rmoraes.minhasfinancas.exception.AutenticacaoException;
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.service.impl.TokenServiceImpl;
+
+public class TokenServiceTest {
+	
+	private static final Clock AGORA = Clock.fixed(Instant.parse("2019-01-01T00:00:00Z"), ZoneOffset.UTC);
+	
+	private final TokenService service = new TokenServiceImpl("segredo", 60, AGORA);
+	
+	@Test
+	public void deveValidarUmTokenGerado() {
+		//Ação / Execução
+		final String token = service.gerar(Usuario.builder().id(7l).build());
+		
+		//Verificação
+		assertThat(service.validar(token)).isEqualTo(7l);
+	}
+	
+	@Test
+	public void deveRecusarTokenAdulterado() {
+		//Cenário
+		final String token = service.gerar(Usuario.builder().id(7l).build());
+		final String outro = service.gerar(Usuario.builder().id(8l).build());
+		final String adulterado = outro.substring(0, outro.indexOf('.')) + token.substring(token.indexOf('.'));
+		
+		//Ação / Execução
+		final Throwable exception = catchThrowable(() -> service.validar(adulterado));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(AutenticacaoException.class).hasMessage("Token inválido.");
+	}
+	
+	@Test
+	public void deveRecusarTokenAssinadoComOutroSegredo() {
+		//Cenário
+		final String token = new TokenServiceImpl("outro", 60, AGORA).gerar(Usuario.builder().id(7l).build());
+		
+		//Ação / Execução
+		final Throwable exception = catchThrowable(() -> service.validar(token));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(AutenticacaoException.class).hasMessage("Token inválido.");
+	}
+	
+	@Test
+	public void deveRecusarTokenExpirado() {
+		//Cenário
+		final String token = service.gerar(Usuario.builder().id(7l).build());
+		final TokenService depois = new TokenServiceImpl("segredo", 60, Clock.offset(AGORA, Duration.ofMinutes(2)));
+		
+		//Ação / Execução
+		final Throwable exception = catchThrowable(() -> depois.validar(token));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(AutenticacaoException.class).hasMessage("Token expirado.");
+	}
+
+}
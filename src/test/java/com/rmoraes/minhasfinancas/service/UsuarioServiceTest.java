@@ -11,6 +11,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -18,27 +19,45 @@ import java.util.Optional;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.rmoraes.minhasfinancas.exception.AutenticacaoException;
 import com.rmoraes.minhasfinancas.exception.RegraNegocioException;
 import com.rmoraes.minhasfinancas.model.entity.Usuario;
 import com.rmoraes.minhasfinancas.model.repository.UsuarioRepository;
+import com.rmoraes.minhasfinancas.service.impl.CredenciaisVerificadas;
+import com.rmoraes.minhasfinancas.service.impl.EmailsCadastrados;
 import com.rmoraes.minhasfinancas.service.impl.UsuarioServiceImpl;
+import com.rmoraes.minhasfinancas.service.impl.VersoesUsuario;
 
 @RunWith(SpringRunner.class)
 @ActiveProfiles("test")
+@Import(UsuarioServiceImpl.class)
 public class UsuarioServiceTest {
 	
-	@SpyBean
+	@MockitoSpyBean
 	private UsuarioServiceImpl service;
 	
-	@MockBean
+	@MockitoBean
 	private UsuarioRepository repository;
 	
+	@MockitoBean
+	private SenhaService senhaService;
+	
+	@MockitoBean
+	private CredenciaisVerificadas credenciaisVerificadas;
+	
+	@MockitoBean
+	private EmailsCadastrados emailsCadastrados;
+	
+	@MockitoBean
+	private VersoesUsuario versoesUsuario;
+	
 	@Test(expected = Test.None.class)
 	public void deveSalvarUmUsuarioComSucesso() {
 		//Cenário
@@ -53,6 +72,7 @@ public class UsuarioServiceTest {
 		assertThat(usuarioSalvo.getNome()).isEqualTo(NOME);
 		assertThat(usuarioSalvo.getEmail()).isEqualTo(EMAIL);
 		assertThat(usuarioSalvo.getSenha()).isEqualTo(SENHA);
+		verify(versoesUsuario).criar(usuarioSalvo.getId());
 	}
 	
 	@Test(expected = RegraNegocioException.class)
@@ -68,16 +88,66 @@ public class UsuarioServiceTest {
 		verify(repository, never()).save(usuario);
 	}
 	
+	@Test
+	public void deveGravarOHashDaSenhaAoSalvarUmUsuario() {
+		//Cenário
+		doNothing().when(service).validarEmail(anyString());
+		when(senhaService.codificar(SENHA)).thenReturn("hash");
+		final Usuario usuario = criarUsuario();
+		when(repository.save(usuario)).thenReturn(usuario);
+		
+		//Ação / Execução
+		service.salvar(usuario);
+		
+		//Verificação
+		verify(repository).save(usuario);
+		assertThat(usuario.getSenha()).isEqualTo("hash");
+	}
+	
 	@Test(expected = Test.None.class)
 	public void deveAutenticarUmUsuarioComSucesso() {
 		//Cenário
-		when(repository.findByEmail(EMAIL)).thenReturn(Optional.of(criarUsuario()));
+		final Usuario usuario = criarUsuario();
+		when(repository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
+		when(senhaService.confere(SENHA, SENHA)).thenReturn(true);
 		
 		//Ação / Execução
 		final Usuario result = service.autenticar(EMAIL, SENHA);
 		
 		//Verificação
 		assertThat(result).isNotNull();
+		verify(credenciaisVerificadas).registrar(usuario, SENHA);
+	}
+	
+	@Test
+	public void deveAutenticarPeloCacheSemConsultarOBancoNemCalcularOHash() {
+		//Cenário
+		when(credenciaisVerificadas.obter(EMAIL, SENHA)).thenReturn(criarUsuario());
+		
+		//Ação / Execução
+		final Usuario result = service.autenticar(EMAIL, SENHA);
+		
+		//Verificação
+		assertThat(result.getEmail()).isEqualTo(EMAIL);
+		verify(repository, never()).findByEmail(anyString());
+		verify(senhaService, never()).confere(anyString(), anyString());
+	}
+	
+	@Test
+	public void deveAtualizarSenhaLegadaParaHashAoAutenticar() {
+		//Cenário
+		final Usuario usuario = criarUsuario();
+		when(repository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
+		when(senhaService.confere(SENHA, SENHA)).thenReturn(true);
+		when(senhaService.precisaAtualizar(SENHA)).thenReturn(true);
+		when(senhaService.codificar(SENHA)).thenReturn("hash");
+		
+		//Ação / Execução
+		service.autenticar(EMAIL, SENHA);
+		
+		//Verificação
+		assertThat(usuario.getSenha()).isEqualTo("hash");
+		verify(repository).save(usuario);
 	}
 	
 	@Test
@@ -105,9 +175,36 @@ public class UsuarioServiceTest {
 		assertThat(exception).isInstanceOf(AutenticacaoException.class).hasMessage("Senha inválida.");
 	}
 	
+	@Test
+	public void deveTraduzirViolacaoDeUnicidadeDoEmailAoSalvar() {
+		//Cenário
+		doNothing().when(service).validarEmail(anyString());
+		when(repository.save(any(Usuario.class))).thenThrow(DataIntegrityViolationException.class);
+		
+		//Ação / Execução
+		final Throwable exception = catchThrowable(() -> service.salvar(criarUsuario()));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage("Já existe um usuário cadasrado com este email.");
+		verify(emailsCadastrados, never()).registrar(anyString());
+	}
+	
+	@Test
+	public void naoDeveConsultarOBancoQuandoOFiltroGarantirQueOEmailENovo() {
+		//Cenário
+		when(emailsCadastrados.podeExistir(EMAIL)).thenReturn(false);
+		
+		//Ação / Execução
+		service.validarEmail(EMAIL);
+		
+		//Verificação
+		verify(repository, never()).existsByEmail(anyString());
+	}
+	
 	@Test(expected = Test.None.class)
 	public void deveValidarEmail() {
 		//Cenário
+		when(emailsCadastrados.podeExistir(anyString())).thenReturn(true);
 		when(repository.existsByEmail(anyString())).thenReturn(false);
 		
 		//Ação / Execução
@@ -117,6 +214,7 @@ public class UsuarioServiceTest {
 	@Test
 	public void deveLancarErroAoValidarEmailQuandoExistirEmailCadastrado() {
 		//Cenário
+		when(emailsCadastrados.podeExistir(anyString())).thenReturn(true);
 		when(repository.existsByEmail(anyString())).thenReturn(true);
 		
 		//Ação / Execução
@@ -125,5 +223,35 @@ public class UsuarioServiceTest {
 		//Verificação
 		assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage("Já existe um usuário cadasrado com este email.");
 	}
+	
+	@Test
+	public void deveVerificarAExistenciaDoUsuarioUmaUnicaVezAoObterReferencia() {
+		//Cenário
+		final Usuario referencia = Usuario.builder().id(1l).build();
+		when(repository.existsById(1l)).thenReturn(true);
+		when(repository.getReferenceById(1l)).thenReturn(referencia);
+		
+		//Ação / Execução
+		service.obterReferencia(1l);
+		final Usuario result = service.obterReferencia(1l);
+		
+		//Verificação
+		assertThat(result).isSameAs(referencia);
+		verify(repository, times(1)).existsById(1l);
+		verify(repository, never()).findById(1l);
+	}
+	
+	@Test
+	public void deveLancarErroAoObterReferenciaDeUsuarioInexistente() {
+		//Cenário
+		when(repository.existsById(2l)).thenReturn(false);
+		
+		//Ação / Execução
+		final Throwable exception = catchThrowable(() -> service.obterReferencia(2l));
+		
+		//Verificação
+		assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage("Usuário não encontrado para o id informado.");
+		verify(repository, never()).getReferenceById(2l);
+	}
 
 }
@@ -0,0 +1,114 @@
+package com.rmoraes.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rmoraes.minhasfinancas.model.entity.Usuario;
+import com.rmoraes.minhasfinancas.model.repository.UsuarioRepository;
+import com.rmoraes.minhasfinancas.model.repository.VersaoDadosUsuarioRepository;
+import com.rmoraes.minhasfinancas.service.impl.VersoesUsuario;
+import com.rmoraes.minhasfinancas.utils.TestUtils;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(VersoesUsuario.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class VersoesUsuarioTest {
+	
+	@Autowired
+	private VersoesUsuario versoes;
+	
+	@Autowired
+	private VersaoDadosUsuarioRepository versaoRepository;
+	
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	
+	private Long usuario;
+	private Long outroUsuario;
+	
+	@Before
+	public void setUp() {
+		usuario = criarUsuario();
+		outroUsuario = criarUsuario();
+	}
+	
+	@Test
+	public void deveMudarAVersaoApenasDoUsuarioAlterado() {
+		//Cenário
+		final String antes = versoes.obter(usuario);
+		final String doOutroUsuario = versoes.obter(outroUsuario);
+		
+		//Ação / Execução
+		versoes.alterar(usuario);
+		
+		//Verificação
+		assertThat(versoes.obter(usuario)).isNotEqualTo(antes);
+		assertThat(versoes.obter(outroUsuario)).isEqualTo(doOutroUsuario);
+	}
+	
+	@Test
+	public void deveMudarAVersaoSomenteNoCommit() {
+		//Cenário
+		final String antes = versoes.obter(usuario);
+		final TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+		
+		//Ação / Execução
+		final String durante = transacao.execute(status -> {
+			versoes.alterar(usuario);
+			versoes.alterar(usuario);
+			return versoes.obter(usuario);
+		});
+		transacao.executeWithoutResult(status -> {
+			versoes.alterar(usuario);
+			status.setRollbackOnly();
+		});
+		
+		//Verificação
+		assertThat(durante).isEqualTo(antes);
+		assertThat(versaoRepository.obterVersao(usuario)).contains(1l);
+	}
+	
+	@Test
+	public void deveCompartilharAVersaoEntreInstancias() {
+		//Cenário
+		final VersoesUsuario outraInstancia = new VersoesUsuario(versaoRepository);
+		final String antes = outraInstancia.obter(usuario);
+		
+		//Ação / Execução
+		versoes.alterar(usuario);
+		
+		//Verificação
+		assertThat(outraInstancia.obter(usuario)).isNotEqualTo(antes).isEqualTo(versoes.obter(usuario));
+	}
+	
+	private Long criarUsuario() {
+		final Usuario usuario = TestUtils.criarUsuario();
+		usuario.setEmail(UUID.randomUUID() + "@email.com");
+		final Long id = usuarioRepository.save(usuario).getId();
+		versoes.criar(id);
+		return id;
+	}
+
+}
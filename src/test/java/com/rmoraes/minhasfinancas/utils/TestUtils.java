@@ -1,9 +1,8 @@
 package com.rmoraes.minhasfinancas.utils;
 
-import java.math.BigDecimal;
-
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import com.rmoraes.minhasfinancas.model.dinheiro.Dinheiro;
 import com.rmoraes.minhasfinancas.model.entity.Lancamento;
 import com.rmoraes.minhasfinancas.model.entity.Usuario;
 import com.rmoraes.minhasfinancas.model.enums.StatusLancamento;
@@ -30,7 +29,7 @@ public final class TestUtils {
 				 .descricao("Lançamento Qualquer")
 				 .mes(1)
 				 .ano(2019)
-				 .valor(BigDecimal.valueOf(10))
+				 .valor(Dinheiro.reais(10))
 				 .tipo(TipoLancamento.RECEITA)
 				 .status(StatusLancamento.PENDENTE)
 				 .build();